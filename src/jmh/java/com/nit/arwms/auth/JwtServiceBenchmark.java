@@ -0,0 +1,85 @@
+package com.nit.arwms.auth;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * JMH benchmark of the per-request JWT work in JwtAuthenticationFilter.
+ *
+ * - legacyFilterPath: what the filter used to do — build a new parser and
+ * verify the token three times (extractUsername, then isTokenValid →
+ * extractUsername + isTokenExpired)
+ * - verifyOnce: JwtService.verify() with a prebuilt parser, no cache
+ * - verifyCached: JwtService.verify() with the verified-token cache
+ *
+ * Run with the benchmarks profile:
+ *
+ * ./mvnw -Pbenchmarks test-compile exec:exec -Djmh.args="JwtServiceBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "dGhpcyBpcyBhIHZlcnkgc2VjcmV0IGtleSBmb3Igd2FtcyBhcHBsaWNhdGlvbiBkZXY=";
+
+    private SecretKey secretKey;
+    private JwtService uncached;
+    private JwtService cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        uncached = new JwtService(SECRET, 3_600_000, 0);
+        cached = new JwtService(SECRET, 3_600_000, 10_000);
+        token = uncached.generateToken(new User("alice", "hash", Role.APPROVER));
+    }
+
+    @Benchmark
+    public boolean legacyFilterPath() {
+        String username = legacyClaims(token).getSubject();
+        return legacyClaims(token).getSubject().equals(username)
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public JwtClaims verifyOnce() {
+        return uncached.verify(token);
+    }
+
+    @Benchmark
+    public JwtClaims verifyCached() {
+        return cached.verify(token);
+    }
+
+    // The pre-refactoring JwtService.extractClaims()
+    private Claims legacyClaims(String jwt) {
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+}
@@ -0,0 +1,141 @@
+package com.nit.arwms.auth;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.nit.arwms.ArwmsApplication;
+
+/**
+ * Login storm against the real application: many clients log in at once
+ * while one client keeps reading workflows, as normal traffic would.
+ *
+ * Run with the benchmarks profile:
+ *
+ * ./mvnw -Pbenchmarks test-compile exec:java \
+ * -Dexec.mainClass=com.nit.arwms.auth.LoginLoadBenchmark
+ *
+ * The application runs inside the Maven JVM, so application properties
+ * can be overridden with -D, e.g. -Dsecurity.password-hashing.queue-capacity=8.
+ *
+ * Reports p50/p99/max latency for logins and for the concurrent workflow
+ * reads, and how many logins were shed with 503. The interesting number
+ * is the workflow-read p99: it shows whether hashing starves other
+ * requests of CPU.
+ */
+public class LoginLoadBenchmark {
+
+    private static final int LOGIN_CLIENTS = 32;
+    private static final int LOGINS_PER_CLIENT = 20;
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = SpringApplication.run(ArwmsApplication.class,
+                "--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+        try {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newHttpClient();
+
+            String registered = send(client, post(base + "/api/auth/register",
+                    "{\"username\":\"load\",\"password\":\"secret123\",\"role\":\"REQUESTER\"}")).body();
+            String token = registered.replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+            String login = "{\"username\":\"load\",\"password\":\"secret123\"}";
+
+            // Warm up the JIT and connection pool
+            for (int i = 0; i < 20; i++) {
+                send(client, post(base + "/api/auth/login", login));
+            }
+
+            AtomicBoolean running = new AtomicBoolean(true);
+            AtomicInteger shed = new AtomicInteger();
+            List<Long> readLatencies = new ArrayList<>();
+            Thread reader = new Thread(() -> {
+                HttpRequest read = HttpRequest.newBuilder(URI.create(base + "/api/workflows?size=1"))
+                        .header("Authorization", "Bearer " + token).build();
+                while (running.get()) {
+                    long start = System.nanoTime();
+                    send(client, read);
+                    readLatencies.add(System.nanoTime() - start);
+                }
+            });
+
+            ExecutorService clients = Executors.newFixedThreadPool(LOGIN_CLIENTS);
+            CountDownLatch go = new CountDownLatch(1);
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int c = 0; c < LOGIN_CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    go.await();
+                    long[] latencies = new long[LOGINS_PER_CLIENT];
+                    for (int i = 0; i < LOGINS_PER_CLIENT; i++) {
+                        long start = System.nanoTime();
+                        int status = send(client, post(base + "/api/auth/login", login)).statusCode();
+                        latencies[i] = System.nanoTime() - start;
+                        if (status == 503) {
+                            shed.incrementAndGet();
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+
+            long start = System.nanoTime();
+            reader.start();
+            go.countDown();
+            long[] logins = new long[0];
+            for (Future<long[]> future : futures) {
+                long[] part = future.get();
+                int offset = logins.length;
+                logins = Arrays.copyOf(logins, offset + part.length);
+                System.arraycopy(part, 0, logins, offset, part.length);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            running.set(false);
+            reader.join();
+            clients.shutdown();
+
+            System.out.printf("%d clients x %d logins in %.1f s (%d shed with 503)%n",
+                    LOGIN_CLIENTS, LOGINS_PER_CLIENT, seconds, shed.get());
+            report("login", logins);
+            report("workflow read", readLatencies.stream().mapToLong(Long::longValue).toArray());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static HttpResponse<String> send(HttpClient client, HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void report(String name, long[] nanos) {
+        Arrays.sort(nanos);
+        System.out.printf("%-14s n=%-5d p50=%7.1f ms  p99=%7.1f ms  max=%7.1f ms%n", name, nanos.length,
+                percentile(nanos, 0.50), percentile(nanos, 0.99), nanos[nanos.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.ceil(p * sorted.length) - 1] / 1e6;
+    }
+}
@@ -0,0 +1,146 @@
+package com.nit.arwms.system;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.nit.arwms.ArwmsApplication;
+
+/**
+ * Throughput and latency of workflow reads with many concurrent clients,
+ * to compare platform-thread and virtual-thread request handling.
+ *
+ * Run with the benchmarks profile, once per mode:
+ *
+ * ./mvnw -Pbenchmarks test-compile exec:java \
+ * -Dexec.mainClass=com.nit.arwms.system.RequestModeLoadBenchmark
+ *
+ * ./mvnw -Pbenchmarks,virtual-threads test-compile exec:java \
+ * -Dexec.mainClass=com.nit.arwms.system.RequestModeLoadBenchmark \
+ * -Dspring.profiles.active=virtual-threads
+ *
+ * (the second needs JAVA_HOME pointing at a JDK 21+; -Dclients=N changes
+ * the number of clients)
+ *
+ * Each client sends GET /api/workflows?size=20 and sends the next request
+ * as soon as the previous answer arrives (closed loop). Clients are
+ * asynchronous HttpClient requests, not threads, so the load generator
+ * itself needs only a few threads.
+ */
+public class RequestModeLoadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("clients", 2000);
+    private static final Duration WARMUP = Duration.ofSeconds(15);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(30);
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context = SpringApplication.run(ArwmsApplication.class,
+                "--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+        try {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            String registered = client.send(post(base + "/api/auth/register", null,
+                    "{\"username\":\"load\",\"password\":\"secret123\",\"role\":\"REQUESTER\"}"),
+                    HttpResponse.BodyHandlers.ofString()).body();
+            String token = registered.replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+
+            StringBuilder items = new StringBuilder("{\"items\":[");
+            for (int i = 0; i < 100; i++) {
+                items.append(i == 0 ? "" : ",").append("{\"title\":\"wf-").append(i).append("\"}");
+            }
+            client.send(post(base + "/api/workflows/bulk", token, items.append("]}").toString()),
+                    HttpResponse.BodyHandlers.discarding());
+
+            HttpRequest read = HttpRequest.newBuilder(URI.create(base + "/api/workflows?size=20"))
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+
+            boolean virtual = Boolean.parseBoolean(
+                    context.getEnvironment().getProperty("spring.threads.virtual.enabled", "false"));
+            System.out.printf("%s threads, %d clients%n", virtual ? "Virtual" : "Platform", CLIENTS);
+
+            new Run(client, read, WARMUP).await();
+            Run run = new Run(client, read, MEASUREMENT);
+            run.await();
+            run.report();
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * One timed phase: CLIENTS request loops until the deadline.
+     */
+    private static class Run {
+
+        private final HttpClient client;
+        private final HttpRequest request;
+        private final long started = System.nanoTime();
+        private final long deadline;
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger errors = new AtomicInteger();
+        private final CompletableFuture<?>[] loops = new CompletableFuture<?>[CLIENTS];
+
+        Run(HttpClient client, HttpRequest request, Duration duration) {
+            this.client = client;
+            this.request = request;
+            this.deadline = started + duration.toNanos();
+            for (int i = 0; i < CLIENTS; i++) {
+                loops[i] = loop();
+            }
+        }
+
+        private CompletableFuture<Void> loop() {
+            if (System.nanoTime() >= deadline) {
+                return CompletableFuture.completedFuture(null);
+            }
+            long start = System.nanoTime();
+            return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        if (failure != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        } else {
+                            latencies.add(System.nanoTime() - start);
+                        }
+                        return null;
+                    })
+                    .thenCompose(ignored -> loop());
+        }
+
+        void await() {
+            CompletableFuture.allOf(loops).join();
+        }
+
+        void report() {
+            double seconds = (System.nanoTime() - started) / 1e9;
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("%d requests in %.1f s: %.0f req/s, %d errors%n",
+                    sorted.length, seconds, sorted.length / seconds, errors.get());
+            System.out.printf("latency p50=%.1f ms  p99=%.1f ms  max=%.1f ms%n",
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), sorted[sorted.length - 1] / 1e6);
+        }
+    }
+
+    private static HttpRequest post(String url, String token, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.ceil(p * sorted.length) - 1] / 1e6;
+    }
+}
@@ -0,0 +1,144 @@
+package com.nit.arwms.workflow;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Measures the status / time-range queries on the workflows table with
+ * and without the indexes declared on Workflow.
+ *
+ * Run with the benchmarks profile:
+ *
+ * ./mvnw -Pbenchmarks test-compile exec:java \
+ * -Dexec.mainClass=com.nit.arwms.workflow.WorkflowIndexBenchmark [-Dexec.args=1000000]
+ *
+ * Two in-memory H2 databases get the same rows; only one of them has the
+ * indexes. H2 result reuse is switched off so every round really executes
+ * the query. Each query runs a few warm-up rounds, then the average of the
+ * measured rounds is printed.
+ */
+public class WorkflowIndexBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    // Same shape as the table Hibernate generates for Workflow;
+    // queries mirror the ones WorkflowRepository sends
+    private static final String CREATE_TABLE = """
+            CREATE TABLE workflows (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                title VARCHAR(255) NOT NULL,
+                description VARCHAR(255),
+                status VARCHAR(32) NOT NULL,
+                created_at TIMESTAMP(6)
+            )""";
+
+    private static final String[] CREATE_INDEXES = {
+            "CREATE INDEX idx_workflows_status_created_at ON workflows (status, created_at DESC)",
+            "CREATE INDEX idx_workflows_created_at_id ON workflows (created_at DESC, id DESC)"
+    };
+
+    public static void main(String[] args) throws SQLException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        try (Connection plain = DriverManager.getConnection("jdbc:h2:mem:bench_plain;OPTIMIZE_REUSE_RESULTS=FALSE", "sa", "");
+                Connection indexed = DriverManager.getConnection("jdbc:h2:mem:bench_indexed;OPTIMIZE_REUSE_RESULTS=FALSE", "sa", "")) {
+
+            setUp(plain, rows, false);
+            setUp(indexed, rows, true);
+
+            LocalDateTime since = START.plusMinutes(rows - 10_000L);
+            LocalDateTime to = since.plusMinutes(1_000);
+
+            System.out.printf("%n%,d rows, average of %d runs (ms)%n", rows, MEASURED_ROUNDS);
+            System.out.printf("%-34s %12s %12s%n", "query", "no index", "indexed");
+
+            compare(plain, indexed, "by status (newest 50)",
+                    "SELECT * FROM workflows WHERE status = ? ORDER BY status, created_at DESC LIMIT 50",
+                    WorkflowStatus.SUBMITTED.name());
+            compare(plain, indexed, "by status since T (newest 50)",
+                    "SELECT * FROM workflows WHERE status = ? AND created_at >= ? ORDER BY status, created_at DESC LIMIT 50",
+                    WorkflowStatus.SUBMITTED.name(), Timestamp.valueOf(since));
+            compare(plain, indexed, "created between (1000 minutes)",
+                    "SELECT * FROM workflows WHERE created_at >= ? AND created_at < ? ORDER BY created_at DESC LIMIT 50",
+                    Timestamp.valueOf(since), Timestamp.valueOf(to));
+            compare(plain, indexed, "count by status",
+                    "SELECT COUNT(*) FROM workflows WHERE status = ?",
+                    WorkflowStatus.APPROVED.name());
+        }
+    }
+
+    private static void setUp(Connection connection, int rows, boolean withIndexes) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE);
+        }
+
+        WorkflowStatus[] statuses = WorkflowStatus.values();
+        Random random = new Random(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO workflows (title, description, status, created_at) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                insert.setString(1, "Workflow " + i);
+                insert.setString(2, "Benchmark row");
+                insert.setString(3, statuses[random.nextInt(statuses.length)].name());
+                insert.setTimestamp(4, Timestamp.valueOf(START.plusMinutes(i)));
+                insert.addBatch();
+                if (i % 10_000 == 9_999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        if (withIndexes) {
+            try (Statement statement = connection.createStatement()) {
+                for (String ddl : CREATE_INDEXES) {
+                    statement.execute(ddl);
+                }
+                statement.execute("ANALYZE");
+            }
+        }
+    }
+
+    private static void compare(Connection plain, Connection indexed, String label, String sql, Object... params)
+            throws SQLException {
+        double withoutIndex = time(plain, sql, params);
+        double withIndex = time(indexed, sql, params);
+        System.out.printf("%-34s %12.3f %12.3f%n", label, withoutIndex, withIndex);
+    }
+
+    private static double time(Connection connection, String sql, Object... params) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                drain(statement);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                drain(statement);
+            }
+            return (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+        }
+    }
+
+    private static void drain(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                // consume every row so the full query cost is measured
+            }
+        }
+    }
+}
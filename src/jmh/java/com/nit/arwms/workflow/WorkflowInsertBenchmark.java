@@ -0,0 +1,131 @@
+package com.nit.arwms.workflow;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.function.IntFunction;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.h2.tools.Server;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Measures workflow inserts/sec with IDENTITY ids (the old mapping) versus
+ * the pooled sequence Workflow now uses, with JDBC batching enabled.
+ *
+ * Run with the benchmarks profile:
+ *
+ * ./mvnw -Pbenchmarks test-compile exec:java \
+ * -Dexec.mainClass=com.nit.arwms.workflow.WorkflowInsertBenchmark
+ *
+ * Uses plain Hibernate (no Spring) with the same batch settings as
+ * application.properties, flushing and clearing the session every batch
+ * like a large bulk import would. Each size is measured twice:
+ *
+ * - embedded: H2 in the same JVM — no network, so this mostly shows
+ *   Hibernate's own per-statement overhead
+ * - tcp: H2 over a loopback TCP connection — every round trip now costs
+ *   something, as it does against a real database server
+ */
+public class WorkflowInsertBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+
+    /**
+     * Same columns as Workflow, but with the old IDENTITY id.
+     */
+    @Entity
+    @Table(name = "workflows_identity")
+    public static class IdentityWorkflow {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        String title;
+
+        String description;
+
+        @Enumerated(EnumType.STRING)
+        WorkflowStatus status;
+
+        LocalDateTime createdAt;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        // Local-only server (no -tcpAllowOthers); -ifNotExists lets it create the in-memory database
+        Server server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        try {
+            System.out.printf("%n%-9s %-10s %18s %20s%n", "mode", "rows", "IDENTITY (rows/s)", "pooled seq (rows/s)");
+            measure("embedded", "jdbc:h2:mem:insert_bench");
+            measure("tcp", "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:insert_bench_tcp");
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static void measure(String mode, String url) {
+        try (SessionFactory sessionFactory = new Configuration()
+                .addAnnotatedClass(Workflow.class)
+                .addAnnotatedClass(IdentityWorkflow.class)
+                .setProperty("hibernate.connection.url", url + ";DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.hbm2ddl.auto", "create")
+                .setProperty("hibernate.jdbc.batch_size", String.valueOf(BATCH_SIZE))
+                .setProperty("hibernate.order_inserts", "true")
+                .buildSessionFactory()) {
+
+            // Warm up both paths before measuring
+            run(sessionFactory, 10_000, WorkflowInsertBenchmark::identityWorkflow);
+            run(sessionFactory, 10_000, WorkflowInsertBenchmark::pooledWorkflow);
+
+            for (int rows : new int[] { 10_000, 100_000 }) {
+                double identity = run(sessionFactory, rows, WorkflowInsertBenchmark::identityWorkflow);
+                double pooled = run(sessionFactory, rows, WorkflowInsertBenchmark::pooledWorkflow);
+                System.out.printf("%-9s %-10d %18.0f %20.0f%n", mode, rows, identity, pooled);
+            }
+        }
+    }
+
+    private static Object identityWorkflow(int i) {
+        IdentityWorkflow workflow = new IdentityWorkflow();
+        workflow.title = "Workflow " + i;
+        workflow.description = "Benchmark row";
+        workflow.status = WorkflowStatus.DRAFT;
+        workflow.createdAt = LocalDateTime.now();
+        return workflow;
+    }
+
+    private static Object pooledWorkflow(int i) {
+        return new Workflow(null, "Workflow " + i, "Benchmark row", WorkflowStatus.DRAFT, LocalDateTime.now());
+    }
+
+    /**
+     * Inserts {@code rows} entities in one transaction.
+     *
+     * @return rows per second
+     */
+    private static double run(SessionFactory sessionFactory, int rows, IntFunction<Object> factory) {
+        long start = System.nanoTime();
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < rows; i++) {
+                session.persist(factory.apply(i));
+                if (i % BATCH_SIZE == BATCH_SIZE - 1) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            session.getTransaction().commit();
+        }
+        return rows / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,78 @@
+package com.nit.arwms.workflow;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+/**
+ * JMH benchmark of the metrics recorded on every transition: one timer
+ * (with Prometheus histogram buckets) and one per-edge counter.
+ *
+ * - preRegistered: WorkflowMetrics, meters created once and held in arrays
+ * - lookupEachTime: registry.timer(...) / registry.counter(...) with tags
+ *   on every call, the usual way of writing it, for comparison
+ *
+ * Run with the benchmarks profile:
+ *
+ * ./mvnw -Pbenchmarks test-compile exec:exec -Djmh.args="WorkflowMetricsBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkflowMetricsBenchmark {
+
+    private PrometheusMeterRegistry registry;
+    private WorkflowMetrics metrics;
+
+    @Setup
+    public void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+        WorkflowEngine engine = new WorkflowEngine(new WorkflowDefinitionProperties(Map.of(
+                WorkflowEngine.DEFAULT_TYPE, new WorkflowDefinitionProperties.Type(WorkflowStatus.DRAFT,
+                        List.of("DRAFT->SUBMITTED:REQUESTER", "SUBMITTED->UNDER_REVIEW:REVIEWER",
+                                "UNDER_REVIEW->APPROVED:APPROVER", "UNDER_REVIEW->REJECTED:APPROVER")))));
+        metrics = new WorkflowMetrics(registry, engine);
+    }
+
+    @Benchmark
+    public void preRegistered() {
+        long start = System.nanoTime();
+        metrics.transitioned(WorkflowEngine.DEFAULT_TYPE, WorkflowStatus.DRAFT, WorkflowStatus.SUBMITTED);
+        metrics.record(WorkflowMetrics.Operation.TRANSITION, start);
+    }
+
+    @Benchmark
+    public void lookupEachTime() {
+        long start = System.nanoTime();
+        registry.counter("workflow.transitions", "type", WorkflowEngine.DEFAULT_TYPE,
+                "from", WorkflowStatus.DRAFT.name(), "to", WorkflowStatus.SUBMITTED.name()).increment();
+        registry.timer("workflow.service", "method", "transitionWorkflow")
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,45 @@
+package com.nit.arwms.workflow;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of WorkflowResponse.fromEntity, which runs once per
+ * workflow in every list page and single-workflow response.
+ *
+ * Run with the benchmarks profile:
+ *
+ * ./mvnw -Pbenchmarks test-compile exec:exec -Djmh.args="WorkflowResponseBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkflowResponseBenchmark {
+
+    private Workflow workflow;
+
+    @Setup
+    public void setUp() {
+        workflow = new Workflow(42L, "Leave Request", "Employee leave approval workflow",
+                WorkflowStatus.UNDER_REVIEW, LocalDateTime.of(2026, 2, 25, 20, 0));
+    }
+
+    @Benchmark
+    public WorkflowResponse fromEntity() {
+        return WorkflowResponse.fromEntity(workflow);
+    }
+}
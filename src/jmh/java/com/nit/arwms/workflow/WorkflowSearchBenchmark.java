@@ -0,0 +1,134 @@
+package com.nit.arwms.workflow;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of WorkflowSearchIndex.search over {@code workflows}
+ * synthetic workflows (default 1,000,000), top 20.
+ *
+ * Titles have 4 words and descriptions 12, drawn from a 20,000-word
+ * vocabulary with a skewed (Zipf-like) distribution, so a few words are
+ * very common and most are rare — like real text.
+ *
+ * - rareWord: one uncommon word
+ * - commonPrefix: a 3-letter prefix matching many words and workflows
+ * - twoWords: a common and a rare word (AND)
+ * - commonWordWithStatus: a common word, filtered to one status
+ * - scan: substring match over every title and description, what
+ *   LIKE '%word%' makes the database do, for comparison
+ *
+ * Run with the benchmarks profile (needs about 2 GB of heap):
+ *
+ * ./mvnw -Pbenchmarks test-compile exec:exec -Djmh.args="WorkflowSearchBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class WorkflowSearchBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final WorkflowStatus[] STATUSES = WorkflowStatus.values();
+
+    @Param("1000000")
+    public int workflows;
+
+    private WorkflowSearchIndex index;
+    private List<String> texts;
+    private String[] words;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = word(random);
+        }
+        index = new WorkflowSearchIndex();
+        texts = new ArrayList<>(workflows);
+        LocalDateTime now = LocalDateTime.now();
+        List<Workflow> batch = new ArrayList<>();
+        for (int id = 1; id <= workflows; id++) {
+            String title = sentence(random, 4);
+            String description = sentence(random, 12);
+            texts.add((title + " " + description).toLowerCase(Locale.ROOT));
+            batch.add(new Workflow((long) id, title, description, STATUSES[random.nextInt(STATUSES.length)], now));
+            if (batch.size() == 10_000) {
+                index.addAfterCommit(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        index.addAfterCommit(batch);
+    }
+
+    private static String word(Random random) {
+        int length = 4 + random.nextInt(6);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    private String sentence(Random random, int length) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            // Cubing a uniform number skews picks towards the start of the vocabulary
+            double u = random.nextDouble();
+            sentence.append(i == 0 ? "" : " ").append(words[(int) (u * u * u * VOCABULARY)]);
+        }
+        return sentence.toString();
+    }
+
+    @Benchmark
+    public WorkflowSearchIndex.Hits rareWord() {
+        return index.search(words[15_000], null, 20);
+    }
+
+    @Benchmark
+    public WorkflowSearchIndex.Hits commonPrefix() {
+        return index.search(words[3].substring(0, 3), null, 20);
+    }
+
+    @Benchmark
+    public WorkflowSearchIndex.Hits twoWords() {
+        return index.search(words[10] + " " + words[12_000], null, 20);
+    }
+
+    @Benchmark
+    public WorkflowSearchIndex.Hits commonWordWithStatus() {
+        return index.search(words[10], Set.of(WorkflowStatus.SUBMITTED), 20);
+    }
+
+    @Benchmark
+    public int scan() {
+        String needle = words[15_000];
+        int matches = 0;
+        for (String text : texts) {
+            if (text.contains(needle)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,99 @@
+package com.nit.arwms.workflow;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.nit.arwms.auth.Role;
+
+/**
+ * JMH benchmark of the transition checks WorkflowService runs on every
+ * transition: canTransition + requiredRole over all 25 (from, to) pairs.
+ *
+ * - compiledDefinition: resolve the type in a WorkflowEngine with 30
+ *   configured types, then check against its ordinal-indexed arrays
+ * - legacyMaps: the original hardcoded WorkflowStatus rules (Map/Set
+ *   lookups and a "FROM→TO" string key per role lookup), for comparison
+ *
+ * Run with the benchmarks profile:
+ *
+ * ./mvnw -Pbenchmarks test-compile exec:exec -Djmh.args="WorkflowStatusBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkflowStatusBenchmark {
+
+    private static final WorkflowStatus[] STATUSES = WorkflowStatus.values();
+
+    private static final Map<WorkflowStatus, Set<WorkflowStatus>> LEGACY_TRANSITIONS = Map.of(
+            WorkflowStatus.DRAFT, Set.of(WorkflowStatus.SUBMITTED),
+            WorkflowStatus.SUBMITTED, Set.of(WorkflowStatus.UNDER_REVIEW),
+            WorkflowStatus.UNDER_REVIEW, Set.of(WorkflowStatus.APPROVED, WorkflowStatus.REJECTED));
+
+    private static final Map<String, String> LEGACY_ROLES = Map.of(
+            "DRAFT→SUBMITTED", "REQUESTER",
+            "SUBMITTED→UNDER_REVIEW", "REVIEWER",
+            "UNDER_REVIEW→APPROVED", "APPROVER",
+            "UNDER_REVIEW→REJECTED", "APPROVER");
+
+    private WorkflowEngine engine;
+    private String type;
+
+    @Setup
+    public void setUp() {
+        WorkflowDefinitionProperties.Type standard = new WorkflowDefinitionProperties.Type(WorkflowStatus.DRAFT,
+                List.of("DRAFT->SUBMITTED:REQUESTER", "SUBMITTED->UNDER_REVIEW:REVIEWER",
+                        "UNDER_REVIEW->APPROVED:APPROVER", "UNDER_REVIEW->REJECTED:APPROVER"));
+        Map<String, WorkflowDefinitionProperties.Type> types = new HashMap<>();
+        types.put(WorkflowEngine.DEFAULT_TYPE, standard);
+        for (int i = 0; i < 29; i++) {
+            types.put("process-" + i, standard);
+        }
+        engine = new WorkflowEngine(new WorkflowDefinitionProperties(types));
+        type = "process-17";
+    }
+
+    @Benchmark
+    public void compiledDefinition(Blackhole blackhole) {
+        WorkflowDefinition definition = engine.definition(type);
+        for (WorkflowStatus from : STATUSES) {
+            for (WorkflowStatus to : STATUSES) {
+                if (definition.canTransition(from, to)) {
+                    Role role = definition.requiredRole(from, to);
+                    blackhole.consume(role);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void legacyMaps(Blackhole blackhole) {
+        for (WorkflowStatus from : STATUSES) {
+            for (WorkflowStatus to : STATUSES) {
+                Set<WorkflowStatus> allowed = LEGACY_TRANSITIONS.get(from);
+                if (allowed != null && allowed.contains(to)) {
+                    String role = LEGACY_ROLES.get(from.name() + "→" + to.name());
+                    blackhole.consume(role);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.nit.arwms.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Per-endpoint latency histograms for one load run.
+ *
+ * Key Concept: HDR histograms
+ * -----------------------------
+ * Keeping every latency sample and sorting it at the end costs memory
+ * proportional to the run length, and averages hide the tail entirely.
+ * An HdrHistogram records each value into a fixed set of buckets with a
+ * bounded relative error (here 3 significant digits: 0.1%), so p99.9 of
+ * a million requests is as cheap to keep as p50 of ten. Recorder lets
+ * many client threads record without locks while the reporter swaps the
+ * histogram out.
+ *
+ * Latencies are recorded in microseconds, up to one minute. Failed
+ * requests (non-2xx/304 or I/O errors) are counted, not timed.
+ */
+final class LatencyReport {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final double[] PERCENTILES = { 50, 95, 99, 99.9 };
+
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    /**
+     * @param names endpoint names, in report order; recording an unknown
+     *              name is an error
+     */
+    LatencyReport(List<String> names) {
+        names.forEach(name -> endpoints.put(name, new Endpoint()));
+    }
+
+    void record(String endpoint, long nanos) {
+        endpoints.get(endpoint).recorder.recordValue(
+                Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAX_MICROS));
+    }
+
+    void failed(String endpoint) {
+        endpoints.get(endpoint).errors.incrementAndGet();
+    }
+
+    /** Throws away everything recorded so far (the warm-up). */
+    void reset() {
+        endpoints.values().forEach(endpoint -> {
+            endpoint.recorder.reset();
+            endpoint.errors.set(0);
+        });
+    }
+
+    /** Ends the measurement: takes the histograms recorded since reset(). */
+    void finish() {
+        endpoints.values().forEach(endpoint -> endpoint.result = endpoint.recorder.getIntervalHistogram());
+    }
+
+    void print(PrintStream out, Duration measured) {
+        double seconds = measured.toNanos() / 1e9;
+        out.printf("%-36s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms");
+        endpoints.forEach((name, endpoint) -> {
+            Histogram h = endpoint.result;
+            out.printf("%-36s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    name, h.getTotalCount(), endpoint.errors.get(), h.getTotalCount() / seconds,
+                    millis(h, 50), millis(h, 95), millis(h, 99), millis(h, 99.9), h.getMaxValue() / 1000.0);
+        });
+    }
+
+    /**
+     * Writes {@code <prefix>.json} (summary, for comparing runs) and one
+     * {@code <prefix>-<endpoint>.hgrm} per endpoint (full percentile
+     * distribution, loadable in HdrHistogram's plotter).
+     *
+     * @return the JSON file
+     */
+    Path write(Path directory, String prefix, Map<String, Object> run, Duration measured) throws IOException {
+        Files.createDirectories(directory);
+        double seconds = measured.toNanos() / 1e9;
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Histogram h = entry.getValue().result;
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", h.getTotalCount());
+            stats.put("errors", entry.getValue().errors.get());
+            stats.put("throughputPerSecond", round(h.getTotalCount() / seconds));
+            for (double percentile : PERCENTILES) {
+                stats.put("p" + (percentile % 1 == 0 ? Integer.toString((int) percentile)
+                        : Double.toString(percentile).replace(".", "")) + "Ms", round(millis(h, percentile)));
+            }
+            stats.put("maxMs", round(h.getMaxValue() / 1000.0));
+            results.put(entry.getKey(), stats);
+
+            Path hgrm = directory.resolve(prefix + "-" + slug(entry.getKey()) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm))) {
+                // Values are in microseconds; scale the output to milliseconds
+                h.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        Map<String, Object> document = new LinkedHashMap<>(run);
+        document.put("measuredSeconds", round(seconds));
+        document.put("endpoints", results);
+
+        Path json = directory.resolve(prefix + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), document);
+        return json;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static String slug(String name) {
+        return name.toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+    }
+
+    private static final class Endpoint {
+        final Recorder recorder = new Recorder(MAX_MICROS, 3);
+        final AtomicLong errors = new AtomicLong();
+        Histogram result;
+    }
+}
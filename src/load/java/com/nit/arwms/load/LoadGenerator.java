@@ -0,0 +1,379 @@
+package com.nit.arwms.load;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nit.arwms.ArwmsApplication;
+import com.nit.arwms.auth.Role;
+
+/**
+ * Drives a realistic request mix against the whole application (in-memory
+ * H2) and reports latency percentiles per endpoint.
+ *
+ * Run with the load profile:
+ *
+ * ./mvnw -Pload test-compile exec:java
+ * ./mvnw -Pload test-compile exec:java -Dload.clients=64 -Dload.duration=120
+ *
+ * Settings (system properties; application properties can be overridden
+ * the same way, since the application runs inside the Maven JVM):
+ *
+ * - load.clients: concurrent clients (default 16)
+ * - load.warmup / load.duration: seconds (default 10 / 30); nothing from
+ *   the warm-up is reported
+ * - load.users-per-role: users registered for each Role (default 3)
+ * - load.mix: operation weights (default
+ *   login=5,create=10,list=40,get=35,chain=10)
+ * - load.output-dir: where results go (default target/load-reports)
+ * - load.label: free text stored with the results, e.g. a branch name
+ *
+ * Operations:
+ * - login: POST /api/auth/login as a random user (BCrypt)
+ * - create: POST /api/workflows as a requester
+ * - list: GET /api/workflows?size=20
+ * - get: GET /api/workflows/{id} of a recently created workflow
+ * - chain: a new workflow taken DRAFT → SUBMITTED → UNDER_REVIEW →
+ *   APPROVED, each step by a user with the required role. Each request is
+ *   recorded under its endpoint, and the whole chain under its own name.
+ *
+ * Each client is a thread that sends its next request as soon as the
+ * previous one answers (closed loop). Under overload a closed loop sends
+ * fewer requests, so it understates the latency an open stream of users
+ * would see; compare runs at the same settings.
+ *
+ * Results: a table on stdout, plus load-<time>.json (summary with run
+ * settings and git commit, for comparing runs) and one .hgrm percentile
+ * distribution per endpoint.
+ */
+public class LoadGenerator {
+
+    static final String LOGIN = "POST /api/auth/login";
+    static final String CREATE = "POST /api/workflows";
+    static final String LIST = "GET /api/workflows";
+    static final String GET = "GET /api/workflows/{id}";
+    static final String TRANSITION = "PATCH /api/workflows/{id}/transition";
+    static final String CHAIN = "chain DRAFT->APPROVED";
+
+    private static final String PASSWORD = "load-secret";
+    private static final int RECENT_IDS = 4096;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper json = new ObjectMapper();
+    private final String base;
+    private final LatencyReport report = new LatencyReport(List.of(LOGIN, CREATE, LIST, GET, TRANSITION, CHAIN));
+
+    private final Map<Role, List<String>> tokens = new LinkedHashMap<>();
+    private final List<String> usernames = new ArrayList<>();
+
+    // Ring of recently created workflow ids for "get"
+    private final AtomicLongArray recentIds = new AtomicLongArray(RECENT_IDS);
+    private final AtomicLong created = new AtomicLong();
+
+    LoadGenerator(String base) {
+        this.base = base;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("load.clients", 16);
+        Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.duration", 30));
+        int usersPerRole = Integer.getInteger("load.users-per-role", 3);
+        Mix mix = Mix.parse(System.getProperty("load.mix", "login=5,create=10,list=40,get=35,chain=10"));
+        Path outputDir = Path.of(System.getProperty("load.output-dir", "target/load-reports"));
+
+        ConfigurableApplicationContext context = SpringApplication.run(ArwmsApplication.class,
+                "--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+        try {
+            LoadGenerator generator = new LoadGenerator(
+                    "http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            generator.registerUsers(usersPerRole);
+            generator.seedWorkflows(200);
+
+            System.out.printf("%d clients, %d s warm-up + %d s measured, mix %s%n",
+                    clients, warmup.toSeconds(), duration.toSeconds(), mix);
+            Duration measured = generator.run(clients, mix, warmup, duration);
+            generator.report.print(System.out, measured);
+
+            Map<String, Object> run = new LinkedHashMap<>();
+            run.put("startedAt", LocalDateTime.now().minus(measured).minus(warmup).toString());
+            run.put("commit", gitCommit());
+            run.put("label", System.getProperty("load.label"));
+            run.put("clients", clients);
+            run.put("warmupSeconds", warmup.toSeconds());
+            run.put("usersPerRole", usersPerRole);
+            run.put("mix", mix.toString());
+            run.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+            run.put("javaVersion", System.getProperty("java.version"));
+            String prefix = "load-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            System.out.println("Results: " + generator.report.write(outputDir, prefix, run, measured));
+        } finally {
+            context.close();
+        }
+    }
+
+    // ─── setup ──────────────────────────────────────────────────────
+
+    private void registerUsers(int perRole) throws Exception {
+        for (Role role : Role.values()) {
+            List<String> roleTokens = new ArrayList<>();
+            for (int i = 0; i < perRole; i++) {
+                String username = "load-" + role.name().toLowerCase() + "-" + i;
+                HttpResponse<String> response = send(post("/api/auth/register", null,
+                        "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD
+                                + "\",\"role\":\"" + role + "\"}"));
+                if (response.statusCode() != 201) {
+                    throw new IllegalStateException("Could not register " + username + ": " + response.statusCode());
+                }
+                roleTokens.add(json.readTree(response.body()).get("token").asText());
+                usernames.add(username);
+            }
+            tokens.put(role, roleTokens);
+        }
+    }
+
+    private void seedWorkflows(int count) throws Exception {
+        StringBuilder items = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < count; i++) {
+            items.append(i == 0 ? "" : ",").append("{\"title\":\"seed-").append(i).append("\"}");
+        }
+        HttpResponse<String> response = send(post("/api/workflows/bulk", token(Role.REQUESTER),
+                items.append("]}").toString()));
+        for (JsonNode workflow : json.readTree(response.body())) {
+            remember(workflow.get("id").asLong());
+        }
+    }
+
+    // ─── run ────────────────────────────────────────────────────────
+
+    private Duration run(int clients, Mix mix, Duration warmup, Duration duration) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + warmup.plus(duration).toNanos();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    execute(mix.pick());
+                }
+            }, "load-client-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+
+        Thread.sleep(warmup.toMillis());
+        report.reset();
+        long measuring = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        report.finish();
+        return Duration.ofNanos(System.nanoTime() - measuring);
+    }
+
+    private void execute(Operation operation) {
+        switch (operation) {
+            case LOGIN -> login();
+            case CREATE -> create();
+            case LIST -> timed(LIST, get("/api/workflows?size=20", anyToken()));
+            case GET -> timed(GET, get("/api/workflows/" + recentId(), anyToken()));
+            case CHAIN -> chain();
+        }
+    }
+
+    private void login() {
+        String username = usernames.get(ThreadLocalRandom.current().nextInt(usernames.size()));
+        timed(LOGIN, post("/api/auth/login", null,
+                "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}"));
+    }
+
+    private Long create() {
+        HttpResponse<String> response = timed(CREATE, post("/api/workflows", token(Role.REQUESTER),
+                "{\"title\":\"load-" + ThreadLocalRandom.current().nextInt(1_000_000) + "\"}"));
+        if (response == null) {
+            return null;
+        }
+        try {
+            long id = json.readTree(response.body()).get("id").asLong();
+            remember(id);
+            return id;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private void chain() {
+        long start = System.nanoTime();
+        Long id = create();
+        boolean ok = id != null
+                && transition(id, "SUBMITTED", Role.REQUESTER)
+                && transition(id, "UNDER_REVIEW", Role.REVIEWER)
+                && transition(id, "APPROVED", Role.APPROVER);
+        if (ok) {
+            report.record(CHAIN, System.nanoTime() - start);
+        } else {
+            report.failed(CHAIN);
+        }
+    }
+
+    private boolean transition(long id, String target, Role role) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/api/workflows/" + id + "/transition"))
+                .header("Authorization", "Bearer " + token(role))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                        "{\"targetStatus\":\"" + target + "\",\"role\":\"" + role + "\"}"))
+                .build();
+        return timed(TRANSITION, request) != null;
+    }
+
+    /**
+     * Sends the request and records its latency, or counts it as failed.
+     *
+     * @return the response, or null if it failed
+     */
+    private HttpResponse<String> timed(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            long elapsed = System.nanoTime() - start;
+            if (response.statusCode() >= 300 && response.statusCode() != 304) {
+                report.failed(endpoint);
+                return null;
+            }
+            report.record(endpoint, elapsed);
+            return response;
+        } catch (Exception e) {
+            report.failed(endpoint);
+            return null;
+        }
+    }
+
+    // ─── helpers ────────────────────────────────────────────────────
+
+    private void remember(long id) {
+        recentIds.set((int) (created.getAndIncrement() % RECENT_IDS), id);
+    }
+
+    private long recentId() {
+        int known = (int) Math.min(created.get(), RECENT_IDS);
+        return recentIds.get(ThreadLocalRandom.current().nextInt(known));
+    }
+
+    private String token(Role role) {
+        List<String> roleTokens = tokens.get(role);
+        return roleTokens.get(ThreadLocalRandom.current().nextInt(roleTokens.size()));
+    }
+
+    private String anyToken() {
+        Role[] roles = Role.values();
+        return token(roles[ThreadLocalRandom.current().nextInt(roles.length)]);
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(base + path))
+                .header("Authorization", "Bearer " + token)
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(base + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String gitCommit() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            try (BufferedReader out = new BufferedReader(new InputStreamReader(git.getInputStream()))) {
+                String commit = out.readLine();
+                return git.waitFor() == 0 ? commit : null;
+            }
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // ─── request mix ────────────────────────────────────────────────
+
+    enum Operation {
+        LOGIN, CREATE, LIST, GET, CHAIN
+    }
+
+    /**
+     * Weighted choice of operations, e.g. "login=5,list=40": list is
+     * picked eight times as often as login. Unlisted operations never run.
+     */
+    record Mix(Operation[] operations, int[] cumulativeWeights) {
+
+        static Mix parse(String spec) {
+            List<Operation> operations = new ArrayList<>();
+            List<Integer> cumulative = new ArrayList<>();
+            int total = 0;
+            for (String part : spec.split(",")) {
+                String[] pair = part.trim().split("=");
+                if (pair.length != 2) {
+                    throw new IllegalArgumentException("Bad load.mix entry '" + part + "' (expected name=weight)");
+                }
+                int weight = Integer.parseInt(pair[1].trim());
+                if (weight > 0) {
+                    total += weight;
+                    operations.add(Operation.valueOf(pair[0].trim().toUpperCase()));
+                    cumulative.add(total);
+                }
+            }
+            if (operations.isEmpty()) {
+                throw new IllegalArgumentException("load.mix has no operation with a positive weight");
+            }
+            return new Mix(operations.toArray(Operation[]::new),
+                    cumulative.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        Operation pick() {
+            int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int i = 0;
+            while (roll >= cumulativeWeights[i]) {
+                i++;
+            }
+            return operations[i];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            int previous = 0;
+            for (int i = 0; i < operations.length; i++) {
+                text.append(i == 0 ? "" : ",").append(operations[i].name().toLowerCase())
+                        .append('=').append(cumulativeWeights[i] - previous);
+                previous = cumulativeWeights[i];
+            }
+            return text.toString();
+        }
+    }
+}
@@ -2,12 +2,13 @@ package com.nit.arwms.auth;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.nit.arwms.system.ReplicaRoutingDataSource;
+
 import jakarta.validation.Valid;
 
 /**
@@ -21,20 +22,24 @@ import jakarta.validation.Valid;
  * POST /api/auth/register — Authentication (create identity)
  * POST /api/auth/login — Authentication (verify identity, get token)
  * Token on every request — Authorization (check if allowed)
+ *
+ * Password hashing runs on PasswordHasher's bounded pool, not on the
+ * request thread; when that pool is saturated these endpoints answer
+ * 503 instead of queueing without limit.
  */
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtService jwtService;
 
     public AuthController(UserRepository userRepository,
-            PasswordEncoder passwordEncoder,
+            PasswordHasher passwordHasher,
             JwtService jwtService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtService = jwtService;
     }
 
@@ -52,7 +57,7 @@ public class AuthController {
 
         User user = new User(
                 request.username(),
-                passwordEncoder.encode(request.password()),
+                passwordHasher.encode(request.password()),
                 request.role());
         userRepository.save(user);
 
@@ -65,16 +70,27 @@ public class AuthController {
      * POST /api/auth/login - Authenticate and get JWT token
      *
      * Verifies password against BCrypt hash, returns JWT if valid.
+     *
+     * If the stored hash was made with an older (lower) cost factor, it is
+     * replaced with a hash at the current cost — the raw password is only
+     * available here, at login.
      */
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest request) {
+        // A password just changed must not still work on a lagging replica
+        ReplicaRoutingDataSource.usePrimaryForThisRequest();
         User user = userRepository.findByUsername(request.username())
                 .orElse(null);
 
-        if (user == null || !passwordEncoder.matches(request.password(), user.getPassword())) {
+        if (user == null || !passwordHasher.matches(request.password(), user.getPassword())) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHasher.encode(request.password()));
+            userRepository.save(user);
+        }
+
         String token = jwtService.generateToken(user);
         AuthResponse response = new AuthResponse(token, user.getUsername(), user.getRole().name());
         return ResponseEntity.ok(response);
@@ -0,0 +1,18 @@
+package com.nit.arwms.auth;
+
+/**
+ * What the rest of the application needs to know about the caller:
+ * their username and role.
+ *
+ * Depending on the authentication mode, the principal in the
+ * SecurityContext is either the JPA User entity (loaded from the
+ * database) or a TokenPrincipal (built from verified JWT claims).
+ * Both implement this interface, so controllers can read the caller's
+ * role without caring which mode is active.
+ */
+public interface AuthenticatedUser {
+
+    String getUsername();
+
+    Role getRole();
+}
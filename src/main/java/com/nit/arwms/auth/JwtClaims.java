@@ -0,0 +1,24 @@
+package com.nit.arwms.auth;
+
+import java.time.Instant;
+
+/**
+ * The verified contents of a JWT: who the token is for, their role, and
+ * when it expires.
+ *
+ * Only JwtService creates these, and only after the signature and expiry
+ * have been checked — so code holding a JwtClaims can trust it without
+ * parsing the token again.
+ */
+public record JwtClaims(
+        String username,
+        Role role,
+        Instant expiresAt) {
+
+    /**
+     * True once the expiry time has passed.
+     */
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -1,5 +1,7 @@
 package com.nit.arwms.auth;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 
 import javax.crypto.SecretKey;
@@ -7,8 +9,16 @@ import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 
@@ -31,19 +41,44 @@ import io.jsonwebtoken.security.Keys;
  * 1. User logs in → server creates JWT with username + role
  * 2. Client stores JWT and sends it in Authorization header
  * 3. Server validates JWT on every request (no DB lookup needed)
+ *
+ * Key Concept: Verify once
+ * --------------------------
+ * Verifying a token means Base64-decoding it, recomputing the HMAC and
+ * parsing the JSON payload. verify() does that exactly once and returns
+ * a JwtClaims record with everything the caller needs. The JwtParser is
+ * thread-safe, so it is built once in the constructor and reused.
+ *
+ * Clients send the same token on every request until it expires, so
+ * recently verified tokens are also cached (keyed by the token string,
+ * bounded in size, and never kept past the token's own expiry).
+ * Set jwt.verified-token-cache.max-size=0 to disable the cache.
  */
 @Service
 public class JwtService {
 
     private final SecretKey secretKey;
     private final long expirationMs;
+    private final JwtParser parser;
+    private final Cache<String, JwtClaims> verifiedTokens;
 
     public JwtService(
             @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration-ms}") long expirationMs) {
+            @Value("${jwt.expiration-ms}") long expirationMs,
+            @Value("${jwt.verified-token-cache.max-size:10000}") long verifiedTokenCacheSize) {
         // Decode Base64-encoded secret into a signing key
         this.secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        this.verifiedTokens = verifiedTokenCacheSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(verifiedTokenCacheSize)
+                        .expireAfter(Expiry.creating((String token, JwtClaims claims) -> Duration
+                                .between(Instant.now(), claims.expiresAt())))
+                        .build()
+                : null;
     }
 
     /**
@@ -60,37 +95,68 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Verifies the token's signature and expiry and returns its claims.
+     *
+     * @throws JwtException if the token is malformed, tampered with,
+     *                      expired, or missing a valid role
+     */
+    public JwtClaims verify(String token) {
+        if (verifiedTokens == null) {
+            return parse(token);
+        }
+
+        JwtClaims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            // The cache drops entries at expiry, but the check is cheap
+            if (cached.isExpired(Instant.now())) {
+                verifiedTokens.invalidate(token);
+                throw new ExpiredJwtException(null, null, "JWT expired");
+            }
+            return cached;
+        }
+
+        JwtClaims claims = parse(token);
+        verifiedTokens.put(token, claims);
+        return claims;
+    }
+
     /**
      * Extracts the username from a JWT token.
      */
     public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
+        return verify(token).username();
     }
 
     /**
      * Extracts the role from a JWT token.
      */
     public String extractRole(String token) {
-        return extractClaims(token).get("role", String.class);
+        return verify(token).role().name();
     }
 
     /**
      * Validates the token: checks signature and expiry.
      */
     public boolean isTokenValid(String token, String username) {
-        String tokenUsername = extractUsername(token);
-        return tokenUsername.equals(username) && !isTokenExpired(token);
+        try {
+            return verify(token).username().equals(username);
+        } catch (JwtException e) {
+            return false;
+        }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaims(token).getExpiration().before(new Date());
-    }
-
-    private Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private JwtClaims parse(String token) {
+        // parseSignedClaims rejects bad signatures and expired tokens
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        String role = claims.get("role", String.class);
+        if (claims.getSubject() == null || role == null || claims.getExpiration() == null) {
+            throw new MalformedJwtException("JWT is missing subject, role or expiration");
+        }
+        try {
+            return new JwtClaims(claims.getSubject(), Role.valueOf(role), claims.getExpiration().toInstant());
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("JWT has unknown role: " + role);
+        }
     }
 }
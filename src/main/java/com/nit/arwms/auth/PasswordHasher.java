@@ -0,0 +1,133 @@
+package com.nit.arwms.auth;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.nit.arwms.exception.PasswordHashingBusyException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs BCrypt hashing and verification on a small, bounded thread pool.
+ *
+ * Key Concept: Isolating CPU-heavy work
+ * ---------------------------------------
+ * One BCrypt hash deliberately burns tens of milliseconds of CPU. If it
+ * runs on Tomcat's request threads, a burst of logins can occupy every
+ * core and every request thread at once, and ordinary workflow requests
+ * queue behind them.
+ *
+ * Here at most "threads" hashes run at a time (default: one per core),
+ * and at most "queue-capacity" more may wait. Anything beyond that is
+ * rejected immediately with PasswordHashingBusyException (HTTP 503 +
+ * Retry-After) instead of piling up — a login storm degrades logins only.
+ *
+ * Pool size, queue length and task timings are published to Micrometer
+ * under executor.* with tag name=password-hashing. The BCrypt work alone
+ * (without queueing) is timed as security.password.hashing{operation}.
+ */
+@Component
+public class PasswordHasher {
+
+    static final String POOL_NAME = "password-hashing";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, POOL_NAME + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, POOL_NAME);
+        this.encodeTimer = hashingTimer(meterRegistry, "encode");
+        this.matchesTimer = hashingTimer(meterRegistry, "matches");
+    }
+
+    private static Timer hashingTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("security.password.hashing")
+                .description("Time spent computing BCrypt hashes, excluding time queued")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hashes a raw password.
+     *
+     * @throws PasswordHashingBusyException if the pool and its queue are full
+     */
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks a raw password against a stored hash.
+     *
+     * @throws PasswordHashingBusyException if the pool and its queue are full
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * True if the hash was made with a lower cost factor than the one now
+     * configured. Only parses the hash, so it runs on the caller's thread.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Timer timer, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException();
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,113 @@
+package com.nit.arwms.auth;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nit.arwms.system.ReplicaRoutingDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded, expiring cache of authenticated users, keyed by username.
+ *
+ * Key Concept: Why cache principals?
+ * ------------------------------------
+ * JwtAuthenticationFilter runs on every request and needs the User to
+ * build the Authentication. Without a cache, that is one
+ * "SELECT ... FROM users WHERE username = ?" per API call — for data
+ * that almost never changes.
+ *
+ * Staleness is handled two ways:
+ * - UserCacheInvalidator evicts a user after any update/delete through
+ *   UserRepository commits (e.g. role or password change)
+ * - every entry expires after the configured TTL anyway, as a safety
+ *   net for changes made outside the application
+ *
+ * Misses are loaded from the read replica, if there is one, with two
+ * exceptions that go to the primary:
+ * - a user evicted within the last TTL: the replica may still have the
+ *   old role, which would be cached again for the whole TTL
+ * - a user the replica does not have yet, e.g. one who just registered
+ *
+ * Unknown usernames are not cached, so a user who registers right after
+ * a failed lookup is found immediately.
+ *
+ * Hit/miss/eviction counts are published to Micrometer under
+ * cache.gets / cache.evictions with tag cache=principals.
+ */
+@Component
+public class PrincipalCache {
+
+    static final String CACHE_NAME = "principals";
+
+    private final Cache<String, User> cache;
+    private final Cache<String, Boolean> recentlyChanged;
+    private final UserRepository userRepository;
+
+    public PrincipalCache(UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${security.principal-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.recentlyChanged = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the user with this username, loading it from the database
+     * only on a cache miss.
+     */
+    public Optional<User> findByUsername(String username) {
+        return Optional.ofNullable(cache.get(username, key -> {
+            User user = recentlyChanged.getIfPresent(key) != null
+                    ? null
+                    : userRepository.findByUsername(key).orElse(null);
+            if (user == null) {
+                ReplicaRoutingDataSource.usePrimaryForThisRequest();
+                user = userRepository.findByUsername(key).orElse(null);
+            }
+            return user;
+        }));
+    }
+
+    /**
+     * Removes a user from the cache. Also removes any entry with the same
+     * id, in case the username itself was changed. The next load of either
+     * username reads the primary.
+     */
+    public void evict(User user) {
+        recentlyChanged.put(user.getUsername(), Boolean.TRUE);
+        cache.invalidate(user.getUsername());
+        if (user.getId() != null) {
+            cache.asMap().values().removeIf(cached -> {
+                if (!user.getId().equals(cached.getId())) {
+                    return false;
+                }
+                recentlyChanged.put(cached.getUsername(), Boolean.TRUE);
+                return true;
+            });
+        }
+    }
+
+    /**
+     * Empties the cache, and forgets which entries changed recently.
+     */
+    public void evictAll() {
+        cache.invalidateAll();
+        recentlyChanged.invalidateAll();
+    }
+}
@@ -1,5 +1,6 @@
 package com.nit.arwms.auth;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -11,6 +12,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.nit.arwms.system.ConcurrencyLimitFilter;
+
+import jakarta.servlet.DispatcherType;
+
 /**
  * Spring Security configuration.
  *
@@ -23,6 +28,15 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  * - /h2-console → Public (development database browser)
  * - Everything else → Requires JWT authentication
  *
+ * Async dispatches (the container re-entering the filter chain when a
+ * long-lived response such as the SSE event stream ends) are permitted:
+ * the request was already authenticated when it started, and the JWT
+ * filter does not run again for them.
+ *
+ * Load shedding: ConcurrencyLimitFilter runs just before the JWT filter,
+ * so a request rejected for overload costs no token verification or
+ * user lookup.
+ *
  * Key Concept: Stateless Sessions
  * ---------------------------------
  * We disable sessions because JWT is stateless — the token carries
@@ -32,15 +46,21 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  * ---------------------------------------
  * Passwords are never stored in plain text. BCrypt hashes them with
  * a random salt, making rainbow table attacks useless.
+ *
+ * The cost factor (security.bcrypt.strength) doubles the work per hash
+ * with each step. Raising it only affects new hashes; existing users are
+ * rehashed at the new cost on their next successful login.
  */
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter, ConcurrencyLimitFilter concurrencyLimitFilter) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.concurrencyLimitFilter = concurrencyLimitFilter;
     }
 
     @Bean
@@ -57,6 +77,9 @@ public class SecurityConfig {
 
                 // Endpoint authorization rules
                 .authorizeHttpRequests(auth -> auth
+                        // Continuation of a request that was authorized when it started
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public endpoints
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/health").permitAll()
@@ -66,23 +89,27 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/workflows/**").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/workflows").authenticated()
                         .requestMatchers(HttpMethod.PATCH, "/api/workflows/*/transition").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/workflows/bulk/**").authenticated()
 
                         // Everything else requires authentication
                         .anyRequest().authenticated())
 
                 // Add JWT filter BEFORE the default username/password filter
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // Shed load before any authentication work is done
+                .addFilterBefore(concurrencyLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
     /**
      * BCrypt password encoder bean.
-     * Used by AuthController to hash passwords during registration
-     * and verify them during login.
+     * Used (through PasswordHasher) by AuthController to hash passwords
+     * during registration and verify them during login.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
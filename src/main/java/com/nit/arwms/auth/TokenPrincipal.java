@@ -0,0 +1,62 @@
+package com.nit.arwms.auth;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Lightweight principal built purely from verified JWT claims — no
+ * database row behind it.
+ *
+ * Used when security.jwt.trust-claims=true. The token was signed by us
+ * and its signature/expiry were verified, so its username and role can
+ * be trusted as of the moment it was issued.
+ *
+ * Authorities are precomputed per role, so building a principal per
+ * request allocates nothing but the record itself.
+ */
+public record TokenPrincipal(String username, Role role) implements AuthenticatedUser {
+
+    private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+
+    static {
+        for (Role r : Role.values()) {
+            AUTHORITIES.put(r, List.of(new SimpleGrantedAuthority("ROLE_" + r.name())));
+        }
+    }
+
+    public static TokenPrincipal from(JwtClaims claims) {
+        return new TokenPrincipal(claims.username(), claims.role());
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public Role getRole() {
+        return role;
+    }
+
+    /**
+     * The "ROLE_..." authority for this principal's role (same format as
+     * User.getAuthorities()).
+     */
+    public Collection<GrantedAuthority> getAuthorities() {
+        return AUTHORITIES.get(role);
+    }
+
+    /**
+     * Spring Security uses the principal's toString() as the
+     * authentication name, so return just the username.
+     */
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -28,10 +29,15 @@ import jakarta.persistence.Table;
  *
  * getAuthorities() returns the user's role as a "ROLE_REQUESTER" etc.
  * Spring Security uses this for @PreAuthorize and role-based checks.
+ *
+ * UserCacheInvalidator evicts the user from PrincipalCache whenever the
+ * row is updated or deleted, so role/password changes take effect on the
+ * next request.
  */
 @Entity
+@EntityListeners(UserCacheInvalidator.class)
 @Table(name = "users")
-public class User implements UserDetails {
+public class User implements UserDetails, AuthenticatedUser {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -92,6 +98,7 @@ public class User implements UserDetails {
         this.password = password;
     }
 
+    @Override
     public Role getRole() {
         return role;
     }
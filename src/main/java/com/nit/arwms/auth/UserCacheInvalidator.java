@@ -0,0 +1,51 @@
+package com.nit.arwms.auth;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that evicts a User from the PrincipalCache whenever
+ * it is updated or deleted (registered on User via @EntityListeners).
+ *
+ * Key Concept: Evict AFTER commit
+ * ---------------------------------
+ * @PostUpdate fires when Hibernate flushes the UPDATE, before the
+ * transaction commits. Evicting right then leaves a window where another
+ * request misses the cache, reads the OLD row (still committed) and puts
+ * it back. Deferring the eviction until after commit closes that window.
+ *
+ * Hibernate creates this listener through Spring, so it can receive beans.
+ * The cache is looked up lazily (ObjectProvider) because the cache depends
+ * on UserRepository, which is built while Hibernate creates this listener.
+ */
+public class UserCacheInvalidator {
+
+    private final ObjectProvider<PrincipalCache> principalCache;
+
+    public UserCacheInvalidator(ObjectProvider<PrincipalCache> principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(user);
+                }
+            });
+        } else {
+            evict(user);
+        }
+    }
+
+    private void evict(User user) {
+        principalCache.ifAvailable(cache -> cache.evict(user));
+    }
+}
@@ -3,6 +3,7 @@ package com.nit.arwms.auth;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository for User entity.
@@ -10,9 +11,15 @@ import org.springframework.data.jpa.repository.JpaRepository;
  *
  * findByUsername is a derived query method — Spring generates the SQL
  * based on the method name: SELECT * FROM users WHERE username = ?
+ *
+ * Replica Update: findByUsername is read-only, so PrincipalCache can load
+ * users from a read replica (see ReplicaRoutingDataSource). Derived
+ * queries have no transaction of their own otherwise, and run on the
+ * primary.
  */
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    @Transactional(readOnly = true)
     Optional<User> findByUsername(String username);
 
     boolean existsByUsername(String username);
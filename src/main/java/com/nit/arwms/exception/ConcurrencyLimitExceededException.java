@@ -0,0 +1,13 @@
+package com.nit.arwms.exception;
+
+/**
+ * Thrown when a route group already has as many requests in flight as
+ * its adaptive concurrency limit allows (see ConcurrencyLimitFilter).
+ * Mapped to HTTP 503 with a Retry-After header.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException() {
+        super("Server is busy, please retry shortly");
+    }
+}
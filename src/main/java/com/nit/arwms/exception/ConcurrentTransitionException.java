@@ -0,0 +1,28 @@
+package com.nit.arwms.exception;
+
+import com.nit.arwms.workflow.WorkflowStatus;
+
+/**
+ * Thrown when a workflow's status changed between validating a transition
+ * and applying it — another request won the race.
+ *
+ * Example: two approvers open the same UNDER_REVIEW workflow; one approves,
+ * the other rejects a moment later. The second request fails with this
+ * exception (HTTP 409) instead of silently overwriting the first decision.
+ * The client should reload the workflow and decide again.
+ */
+public class ConcurrentTransitionException extends RuntimeException {
+
+    public ConcurrentTransitionException(Long id, WorkflowStatus expectedStatus) {
+        super("Workflow " + id + " is no longer in status " + expectedStatus
+                + "; it was changed by another request. Reload and try again.");
+    }
+
+    /**
+     * For when the status this request saw is not known (the check and
+     * the write were one statement).
+     */
+    public ConcurrentTransitionException(Long id) {
+        super("Workflow " + id + " was changed by another request. Reload and try again.");
+    }
+}
@@ -3,12 +3,16 @@ package com.nit.arwms.exception;
 import java.time.LocalDateTime;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -17,6 +21,22 @@ import jakarta.servlet.http.HttpServletRequest;
  *
  * Phase 7 Update: Added handler for InvalidTransitionException (409 Conflict)
  * and HttpMessageNotReadableException (400 for invalid enum values).
+ *
+ * Pagination Update: Added handlers for InvalidCursorException and
+ * MethodArgumentTypeMismatchException (both 400).
+ *
+ * Concurrency Update: Added handler for lost transition races (409).
+ *
+ * Workflow Types Update: Added handler for UnknownWorkflowTypeException (400).
+ *
+ * Password Hashing Update: Added handler for a saturated hashing pool (503).
+ *
+ * Search Update: Added handler for missing required query parameters (400).
+ *
+ * Load Shedding Update: Added handler for requests rejected by the
+ * adaptive concurrency limit (503). ConcurrencyLimitFilter runs before
+ * Spring MVC, so it passes its exception to the HandlerExceptionResolver,
+ * which dispatches to this class like for a controller.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -56,6 +76,30 @@ public class GlobalExceptionHandler {
                 return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
         }
 
+        /**
+         * Handles lost races on the same workflow → HTTP 409 Conflict
+         *
+         * ConcurrentTransitionException comes from the status compare-and-set;
+         * ObjectOptimisticLockingFailureException from Hibernate's @Version
+         * check when a stale entity is saved.
+         */
+        @ExceptionHandler({ ConcurrentTransitionException.class, ObjectOptimisticLockingFailureException.class })
+        public ResponseEntity<ErrorResponse> handleConcurrentModification(
+                        RuntimeException ex, HttpServletRequest request) {
+
+                String message = ex instanceof ConcurrentTransitionException
+                                ? ex.getMessage()
+                                : "The resource was modified by another request. Reload and try again.";
+
+                ErrorResponse error = new ErrorResponse(
+                                LocalDateTime.now(),
+                                HttpStatus.CONFLICT.value(),
+                                "Conflict",
+                                message,
+                                request.getRequestURI());
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        }
+
         /**
          * Handles validation errors (@Valid failures) → HTTP 400 Bad Request
          */
@@ -94,6 +138,115 @@ public class GlobalExceptionHandler {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
         }
 
+        /**
+         * Handles malformed pagination cursors → HTTP 400 Bad Request
+         */
+        @ExceptionHandler(InvalidCursorException.class)
+        public ResponseEntity<ErrorResponse> handleInvalidCursor(
+                        InvalidCursorException ex, HttpServletRequest request) {
+
+                ErrorResponse error = new ErrorResponse(
+                                LocalDateTime.now(),
+                                HttpStatus.BAD_REQUEST.value(),
+                                "Bad Request",
+                                ex.getMessage(),
+                                request.getRequestURI());
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+
+        /**
+         * Handles workflows created with an unconfigured type → HTTP 400 Bad Request
+         */
+        @ExceptionHandler(UnknownWorkflowTypeException.class)
+        public ResponseEntity<ErrorResponse> handleUnknownWorkflowType(
+                        UnknownWorkflowTypeException ex, HttpServletRequest request) {
+
+                ErrorResponse error = new ErrorResponse(
+                                LocalDateTime.now(),
+                                HttpStatus.BAD_REQUEST.value(),
+                                "Bad Request",
+                                ex.getMessage(),
+                                request.getRequestURI());
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+
+        /**
+         * Handles a full password hashing pool → HTTP 503 Service Unavailable
+         *
+         * Retry-After tells well-behaved clients to back off briefly rather
+         * than retrying straight into the same overload.
+         */
+        @ExceptionHandler(PasswordHashingBusyException.class)
+        public ResponseEntity<ErrorResponse> handlePasswordHashingBusy(
+                        PasswordHashingBusyException ex, HttpServletRequest request) {
+
+                ErrorResponse error = new ErrorResponse(
+                                LocalDateTime.now(),
+                                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                                "Service Unavailable",
+                                ex.getMessage(),
+                                request.getRequestURI());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "1")
+                                .body(error);
+        }
+
+        /**
+         * Handles ConcurrencyLimitExceededException → HTTP 503 Service Unavailable
+         * Too many requests of this kind are in flight; Retry-After asks the
+         * client to back off for a second instead of retrying at once.
+         */
+        @ExceptionHandler(ConcurrencyLimitExceededException.class)
+        public ResponseEntity<ErrorResponse> handleConcurrencyLimitExceeded(
+                        ConcurrencyLimitExceededException ex, HttpServletRequest request) {
+
+                ErrorResponse error = new ErrorResponse(
+                                LocalDateTime.now(),
+                                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                                "Service Unavailable",
+                                ex.getMessage(),
+                                request.getRequestURI());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "1")
+                                .body(error);
+        }
+
+        /**
+         * Handles query/path parameters of the wrong type → HTTP 400 Bad Request
+         *
+         * For example, "?status=INVALID_STATUS" or "?from=yesterday".
+         */
+        @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+        public ResponseEntity<ErrorResponse> handleTypeMismatch(
+                        MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
+
+                ErrorResponse error = new ErrorResponse(
+                                LocalDateTime.now(),
+                                HttpStatus.BAD_REQUEST.value(),
+                                "Bad Request",
+                                "Invalid value for parameter '" + ex.getName() + "'",
+                                request.getRequestURI());
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+
+        /**
+         * Handles a missing required query parameter → HTTP 400 Bad Request
+         *
+         * For example, GET /api/workflows/search without "q".
+         */
+        @ExceptionHandler(MissingServletRequestParameterException.class)
+        public ResponseEntity<ErrorResponse> handleMissingParameter(
+                        MissingServletRequestParameterException ex, HttpServletRequest request) {
+
+                ErrorResponse error = new ErrorResponse(
+                                LocalDateTime.now(),
+                                HttpStatus.BAD_REQUEST.value(),
+                                "Bad Request",
+                                "Missing required parameter '" + ex.getParameterName() + "'",
+                                request.getRequestURI());
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+
         /**
          * Catch-all for any unhandled exceptions → HTTP 500 Internal Server Error
          */
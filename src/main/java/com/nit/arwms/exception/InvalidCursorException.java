@@ -0,0 +1,14 @@
+package com.nit.arwms.exception;
+
+/**
+ * Thrown when a pagination cursor sent by the client cannot be decoded.
+ *
+ * Cursors are opaque tokens handed out by the API, so a bad one usually
+ * means the client tampered with it or truncated it. Mapped to HTTP 400.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid pagination cursor: " + cursor);
+    }
+}
@@ -0,0 +1,13 @@
+package com.nit.arwms.exception;
+
+/**
+ * Thrown when the password hashing pool and its queue are both full
+ * (see PasswordHasher). Mapped to HTTP 503 with a Retry-After header,
+ * so clients back off instead of retrying immediately.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Too many concurrent logins, please retry shortly");
+    }
+}
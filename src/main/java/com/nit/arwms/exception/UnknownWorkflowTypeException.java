@@ -0,0 +1,15 @@
+package com.nit.arwms.exception;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Thrown when a workflow names a type that has no configured definition
+ * (see WorkflowEngine). Mapped to HTTP 400.
+ */
+public class UnknownWorkflowTypeException extends RuntimeException {
+
+    public UnknownWorkflowTypeException(String type, Set<String> knownTypes) {
+        super("Unknown workflow type: " + type + ". Known types: " + new TreeSet<>(knownTypes));
+    }
+}
@@ -0,0 +1,157 @@
+package com.nit.arwms.system;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit that adjusts itself to the latency it observes.
+ *
+ * Key Concept: Limiting concurrency, not rate
+ * ---------------------------------------------
+ * When the database slows down, each request holds its Tomcat thread
+ * longer, so more requests are in flight at once and each waits behind
+ * the others for a connection. Latency then grows for everyone until
+ * requests time out. Capping how many requests are in flight keeps the
+ * queue (and so the tail latency) short. The requests above the cap are
+ * rejected at once and the client can retry later.
+ *
+ * Key Concept: Gradient algorithm
+ * ---------------------------------
+ * The right cap depends on how fast the database is right now, so it is
+ * not configured but computed. Every window of windowSamples requests:
+ *
+ * - shortRtt = average latency in this window
+ * - longRtt  = slow moving average of shortRtt (the "normal" latency)
+ * - gradient = tolerance * longRtt / shortRtt, clamped to [0.5, 1]
+ *
+ * While latency stays within tolerance x normal, the gradient is 1 and
+ * the limit grows by SMOOTHING * sqrt(limit) per window, but only in
+ * windows where at least half of it was in use. A mostly idle service
+ * gives no evidence that more concurrency would be fine.
+ *
+ * Once latency rises above tolerance x normal, the limit is multiplied
+ * by the gradient straight away: latency at 2.5x normal with tolerance 2
+ * cuts it by 20% in that window, and by half at most. Backing off is not
+ * smoothed, because under overload every window spent slowing down
+ * adds to the queue.
+ *
+ * The limit always stays within [minLimit, maxLimit].
+ */
+public class AdaptiveConcurrencyLimit {
+
+    /** Growth per window, as a fraction of sqrt(limit). */
+    static final double SMOOTHING = 0.2;
+
+    /** longRtt follows shortRtt by 1/LONG_WINDOW per window. */
+    static final int LONG_WINDOW = 50;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final int windowSamples;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Current window; guarded by this
+    private long windowRttSum;
+    private int windowCount;
+    private int windowMaxInFlight;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+            double tolerance, int windowSamples) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Need 1 <= min-limit <= max-limit, got "
+                    + minLimit + " and " + maxLimit);
+        }
+        if (tolerance < 1) {
+            throw new IllegalArgumentException("tolerance must be at least 1, got " + tolerance);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowSamples = Math.max(1, windowSamples);
+        this.limit = clamp(initialLimit);
+    }
+
+    /**
+     * Takes a slot if fewer than limit() requests are in flight. Every
+     * successful call must be followed by exactly one release.
+     *
+     * @return false if the limit is reached; the request should be rejected
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot and feeds the request's latency to the algorithm.
+     */
+    public void release(long latencyNanos) {
+        int inFlightNow = inFlight.getAndDecrement();
+        synchronized (this) {
+            windowRttSum += latencyNanos;
+            windowCount++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlightNow);
+            if (windowCount >= windowSamples) {
+                endWindow();
+            }
+        }
+    }
+
+    /**
+     * Frees the slot without a latency sample (for requests whose
+     * duration says nothing about the server's health, e.g. when the
+     * response continues asynchronously).
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /** The current limit on requests in flight. */
+    public int limit() {
+        return (int) limit;
+    }
+
+    /** Requests holding a slot right now. */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void endWindow() {
+        double shortRtt = Math.max(1, (double) windowRttSum / windowCount);
+        boolean appLimited = windowMaxInFlight < limit / 2;
+        windowRttSum = 0;
+        windowCount = 0;
+        windowMaxInFlight = 0;
+
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt += (shortRtt - longRtt) / LONG_WINDOW;
+            // Normal latency dropped (e.g. the database recovered): catch up faster
+            if (longRtt > 2 * shortRtt) {
+                longRtt *= 0.95;
+            }
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        if (gradient < 1) {
+            limit = clamp(limit * gradient);
+        } else if (!appLimited) {
+            limit = clamp(limit + SMOOTHING * Math.sqrt(limit));
+        }
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,158 @@
+package com.nit.arwms.system;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import com.nit.arwms.exception.ConcurrencyLimitExceededException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Load shedding: rejects requests above an adaptive concurrency limit.
+ *
+ * Key Concept: Load shedding
+ * ----------------------------
+ * Under overload, answering every request late is worse than answering
+ * some of them "busy" right away: a client that waits 30 s for a timeout
+ * has held a thread and a connection the whole time. Each route group
+ * below has its own AdaptiveConcurrencyLimit, which shrinks when latency
+ * rises. A request that finds its group full gets 503 + Retry-After
+ * at once (through GlobalExceptionHandler), before any JWT or database
+ * work is done for it.
+ *
+ * Route groups (separate limits, so that e.g. a login storm cannot use
+ * up the slots of workflow reads):
+ * - AUTH:            /api/auth/**
+ * - WORKFLOW_READS:  GET /api/workflows/**
+ * - WORKFLOW_WRITES: every other method on /api/workflows/**
+ *
+ * Not limited: the SSE event stream and the export, which are long-lived
+ * by design (their duration says nothing about the server's health), and
+ * everything outside /api/auth and /api/workflows (health, actuator, H2
+ * console).
+ *
+ * Registered in SecurityConfig just before JwtAuthenticationFilter.
+ * Meters, per group tag: api.concurrency.limit and api.concurrency.in-flight
+ * (gauges), api.concurrency.rejected (counter).
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    public enum RouteGroup {
+        AUTH("auth"),
+        WORKFLOW_READS("workflow-reads"),
+        WORKFLOW_WRITES("workflow-writes");
+
+        private final String tag;
+
+        RouteGroup(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final HandlerExceptionResolver exceptionResolver;
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimit[] limits = new AdaptiveConcurrencyLimit[RouteGroup.values().length];
+    private final Counter[] rejections = new Counter[RouteGroup.values().length];
+
+    public ConcurrencyLimitFilter(
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            MeterRegistry meterRegistry,
+            @Value("${api.concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${api.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${api.concurrency-limit.min-limit:4}") int minLimit,
+            @Value("${api.concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${api.concurrency-limit.tolerance:2.0}") double tolerance,
+            @Value("${api.concurrency-limit.window-samples:20}") int windowSamples) {
+        this.exceptionResolver = exceptionResolver;
+        this.enabled = enabled;
+        for (RouteGroup group : RouteGroup.values()) {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+                    initialLimit, minLimit, maxLimit, tolerance, windowSamples);
+            limits[group.ordinal()] = limit;
+            Gauge.builder("api.concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("group", group.tag)
+                    .register(meterRegistry);
+            Gauge.builder("api.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                    .description("Requests currently holding a concurrency slot")
+                    .tag("group", group.tag)
+                    .register(meterRegistry);
+            rejections[group.ordinal()] = Counter.builder("api.concurrency.rejected")
+                    .description("Requests rejected with 503 because the limit was reached")
+                    .tag("group", group.tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * The group whose limit applies to this request, or null if it is not limited.
+     */
+    static RouteGroup routeGroup(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/api/auth/")) {
+            return RouteGroup.AUTH;
+        }
+        if (!path.equals("/api/workflows") && !path.startsWith("/api/workflows/")) {
+            return null;
+        }
+        String method = request.getMethod();
+        if (!method.equals("GET") && !method.equals("HEAD")) {
+            return RouteGroup.WORKFLOW_WRITES;
+        }
+        if (path.equals("/api/workflows/events") || path.equals("/api/workflows/export")) {
+            return null;
+        }
+        return RouteGroup.WORKFLOW_READS;
+    }
+
+    /** The limit of one group (for tests and diagnostics). */
+    AdaptiveConcurrencyLimit limit(RouteGroup group) {
+        return limits[group.ordinal()];
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || routeGroup(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RouteGroup group = routeGroup(request);
+        AdaptiveConcurrencyLimit limit = limits[group.ordinal()];
+        if (!limit.tryAcquire()) {
+            rejections[group.ordinal()].increment();
+            // Filters run outside Spring MVC, so hand the exception to it explicitly
+            exceptionResolver.resolveException(request, response, null, new ConcurrencyLimitExceededException());
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = !request.isAsyncStarted();
+        } finally {
+            if (completed) {
+                limit.release(System.nanoTime() - start);
+            } else {
+                limit.release();
+            }
+        }
+    }
+}
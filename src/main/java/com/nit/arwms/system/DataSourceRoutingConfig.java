@@ -0,0 +1,56 @@
+package com.nit.arwms.system;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write datasource routing, enabled by setting
+ * datasource.replica.jdbc-url.
+ *
+ * Without it, Spring Boot creates its usual single pool from
+ * spring.datasource.*. With it, there are two pools — "primary"
+ * (spring.datasource.*) and "replica" (datasource.replica.*) — behind one
+ * DataSource that JPA uses, and ReplicaRoutingDataSource picks between
+ * them per transaction. Both pools report hikaricp.connections.*{pool}.
+ */
+@Configuration
+@ConditionalOnProperty("datasource.replica.jdbc-url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    /**
+     * The DataSource everything else (JPA, JdbcTemplate) uses.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica));
+    }
+}
@@ -0,0 +1,103 @@
+package com.nit.arwms.system;
+
+import java.util.Map;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends each transaction's connection to the primary database or to its
+ * read replica.
+ *
+ * Key Concept: Read/write splitting
+ * -----------------------------------
+ * Most traffic is GET requests, which only read. A replica is a copy of
+ * the primary kept up to date by database replication; reads served from
+ * it leave the primary's connections and CPU to the writes. The catch is
+ * replication lag: a replica may be a moment behind, so anything that
+ * must see the latest committed data reads the primary.
+ *
+ * A connection goes to the replica only when all of these hold:
+ * 1. it belongs to a read-only transaction (@Transactional(readOnly = true),
+ *    which includes Spring Data's inherited finders such as findById)
+ * 2. it is used while handling an HTTP request — start-up code and
+ *    background threads (WorkflowChangeSequence, TransitionHistoryWriter,
+ *    ...) always read the primary
+ * 3. the request has not written yet: once a request opens a read-write
+ *    transaction, or calls usePrimaryForThisRequest(), every later
+ *    connection of that request goes to the primary, so it reads its own
+ *    writes
+ *
+ * The decision is made when the transaction first touches the database,
+ * which is why DataSourceRoutingConfig wraps this in a
+ * LazyConnectionDataSourceProxy: Spring asks for the connection before
+ * it has marked the transaction read-only.
+ *
+ * Lag is visible to clients: a GET right after a write in another request
+ * may not see it yet. Results that outlive the request need more care,
+ * since any lag would be kept for as long as they are:
+ * - cache loads (WorkflowResponseCache, PrincipalCache) read the primary
+ *   only for entries evicted a short while ago, i.e. exactly the ones the
+ *   replica may not have caught up with
+ * - a listing read from the replica is sent with an ETag derived from
+ *   the rows it holds (see servedByReplicaInThisRequest()) rather than
+ *   with the collection version, which describes the primary
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private static final String PINNED_TO_PRIMARY = ReplicaRoutingDataSource.class.getName() + ".PINNED";
+    private static final String USED_REPLICA = ReplicaRoutingDataSource.class.getName() + ".USED_REPLICA";
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Makes the rest of the current HTTP request use the primary, for
+     * reads that must not lag behind it. No effect outside a request.
+     */
+    public static void usePrimaryForThisRequest() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(PINNED_TO_PRIMARY, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * True if any connection of the current HTTP request came from the
+     * replica, i.e. what it read may lag behind the primary.
+     */
+    public static boolean servedByReplicaInThisRequest() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return request != null && request.getAttribute(USED_REPLICA, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return Target.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                usePrimaryForThisRequest();
+            }
+            return Target.PRIMARY;
+        }
+        if (request.getAttribute(PINNED_TO_PRIMARY, RequestAttributes.SCOPE_REQUEST) != null) {
+            return Target.PRIMARY;
+        }
+        request.setAttribute(USED_REPLICA, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        return Target.REPLICA;
+    }
+}
@@ -0,0 +1,37 @@
+package com.nit.arwms.workflow;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO for creating many workflows in one request.
+ *
+ * Each item is validated exactly like a single WorkflowRequest.
+ */
+public class BulkCreateRequest {
+
+    /** Upper bound on items per request, to keep one transaction short. */
+    public static final int MAX_ITEMS = 1000;
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " items per request")
+    private List<@Valid WorkflowRequest> items;
+
+    public BulkCreateRequest() {
+    }
+
+    public BulkCreateRequest(List<WorkflowRequest> items) {
+        this.items = items;
+    }
+
+    public List<WorkflowRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<WorkflowRequest> items) {
+        this.items = items;
+    }
+}
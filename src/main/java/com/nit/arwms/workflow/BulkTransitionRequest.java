@@ -0,0 +1,83 @@
+package com.nit.arwms.workflow;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO for transitioning many workflows in one request.
+ *
+ * Like WorkflowTransitionRequest, the role is taken from the
+ * authenticated user; a role sent in the body is overridden.
+ *
+ * Example:
+ * {
+ * "items": [
+ * { "id": 1, "targetStatus": "UNDER_REVIEW" },
+ * { "id": 2, "targetStatus": "UNDER_REVIEW" }
+ * ]
+ * }
+ */
+public class BulkTransitionRequest {
+
+    /** Upper bound on items per request, to keep one transaction short. */
+    public static final int MAX_ITEMS = 500;
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " items per request")
+    private List<@Valid Item> items;
+
+    private String role;
+
+    /**
+     * Username of the caller, recorded in the transition history.
+     * Set by the controller from the authenticated user; never read from JSON.
+     */
+    @JsonIgnore
+    private String actor;
+
+    /**
+     * One workflow to transition.
+     */
+    public record Item(
+            @NotNull(message = "Workflow id is required") Long id,
+            @NotNull(message = "Target status is required") WorkflowStatus targetStatus) {
+    }
+
+    public BulkTransitionRequest() {
+    }
+
+    public BulkTransitionRequest(List<Item> items, String role) {
+        this.items = items;
+        this.role = role;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public void setActor(String actor) {
+        this.actor = actor;
+    }
+}
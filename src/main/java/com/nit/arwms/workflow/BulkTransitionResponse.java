@@ -0,0 +1,33 @@
+package com.nit.arwms.workflow;
+
+import java.util.List;
+
+/**
+ * DTO for the result of a bulk transition: one entry per requested item,
+ * in request order, plus totals.
+ */
+public record BulkTransitionResponse(
+        List<Result> results,
+        int succeeded,
+        int failed) {
+
+    /**
+     * Outcome for a single workflow.
+     *
+     * status is the workflow's status after the request (the new status on
+     * SUCCESS, the unchanged current status otherwise, null if not found).
+     */
+    public record Result(
+            Long id,
+            TransitionOutcome outcome,
+            String status,
+            String message) {
+    }
+
+    public static BulkTransitionResponse of(List<Result> results) {
+        int succeeded = (int) results.stream()
+                .filter(result -> result.outcome() == TransitionOutcome.SUCCESS)
+                .count();
+        return new BulkTransitionResponse(results, succeeded, results.size() - succeeded);
+    }
+}
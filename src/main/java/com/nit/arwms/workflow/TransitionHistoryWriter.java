@@ -0,0 +1,244 @@
+package com.nit.arwms.workflow;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Background writer for the workflow transition history.
+ *
+ * Key Concept: Write-behind buffering
+ * -------------------------------------
+ * Recording history must not slow down the transition request. So
+ * record() only puts the entry on an in-memory queue; a single background
+ * thread takes entries off the queue and inserts them with saveAll() in
+ * batches (up to batch-size rows, or whatever arrived within
+ * flush-interval). With pooled ids, one batch is one JDBC round trip.
+ *
+ * Key Concept: Bounded queue + backpressure
+ * -------------------------------------------
+ * The queue has a fixed capacity so a slow database cannot make it grow
+ * without limit. When it is full, record() waits up to offer-timeout for
+ * space; if there is still none, the caller writes its own entry
+ * synchronously. The request gets slower, but the entry is not dropped.
+ *
+ * Entries are only queued after the transition's transaction commits, so
+ * a rolled-back transition never shows up in history. Every write runs
+ * in a new transaction of its own: the synchronous fallback runs inside
+ * that afterCommit callback, where the finished transaction is still
+ * bound to the thread, and joining it would mean the rows are never
+ * committed.
+ *
+ * If a batch fails, its entries are retried one at a time, so one bad
+ * row cannot take the rest of the batch with it. An entry the database
+ * still refuses is logged at ERROR with its contents. Entries still in
+ * the queue are flushed on shutdown; a hard crash can lose them.
+ */
+@Component
+public class TransitionHistoryWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TransitionHistoryWriter.class);
+
+    private final WorkflowTransitionRepository repository;
+    private final TransactionTemplate newTransaction;
+    private final BlockingQueue<WorkflowTransition> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+
+    // Entries queued but not yet written (including a batch in flight),
+    // so flush() can wait for the worker to finish. Whoever brings it to
+    // zero notifies idle, on which flush() waits.
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Object idle = new Object();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public TransitionHistoryWriter(WorkflowTransitionRepository repository,
+            PlatformTransactionManager transactionManager,
+            @Value("${workflow.history.queue-capacity:10000}") int queueCapacity,
+            @Value("${workflow.history.batch-size:200}") int batchSize,
+            @Value("${workflow.history.flush-interval:200ms}") Duration flushInterval,
+            @Value("${workflow.history.offer-timeout:50ms}") Duration offerTimeout) {
+        this.repository = repository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+    }
+
+    /**
+     * Records a transition. If called inside a transaction, the entry is
+     * queued only after that transaction commits.
+     */
+    public void record(WorkflowTransition transition) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(transition);
+                }
+            });
+        } else {
+            enqueue(transition);
+        }
+    }
+
+    /**
+     * Writes everything currently queued and waits until the background
+     * thread has finished any batch it is writing.
+     */
+    public void flush() {
+        List<WorkflowTransition> batch = new ArrayList<>();
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeQueued(batch);
+            batch.clear();
+        }
+        long deadline = System.nanoTime() + flushInterval.multipliedBy(10).toNanos();
+        synchronized (idle) {
+            while (pending.get() > 0) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    return;
+                }
+                try {
+                    idle.wait(remainingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void enqueue(WorkflowTransition transition) {
+        boolean interrupted = false;
+        if (running) {
+            pending.incrementAndGet();
+            try {
+                if (queue.offer(transition, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+                log.warn("Transition history queue is full; writing entry synchronously");
+            } catch (InterruptedException e) {
+                // Write first: a pending interrupt can make the JDBC call fail
+                interrupted = true;
+            }
+            finished(1);
+        }
+        try {
+            write(List.of(transition));
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void runLoop() {
+        List<WorkflowTransition> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                WorkflowTransition first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    writeQueued(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void writeQueued(List<WorkflowTransition> batch) {
+        try {
+            write(batch);
+        } finally {
+            finished(batch.size());
+        }
+    }
+
+    private void finished(int count) {
+        if (pending.addAndGet(-count) == 0) {
+            synchronized (idle) {
+                idle.notifyAll();
+            }
+        }
+    }
+
+    private void write(List<WorkflowTransition> batch) {
+        try {
+            newTransaction.executeWithoutResult(tx -> repository.saveAll(batch));
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                logLost(batch.get(0), e);
+                return;
+            }
+            log.warn("Failed to write {} transition history entries; retrying one at a time", batch.size(), e);
+        }
+        for (WorkflowTransition transition : batch) {
+            try {
+                newTransaction.executeWithoutResult(tx -> repository.save(transition));
+            } catch (RuntimeException e) {
+                logLost(transition, e);
+            }
+        }
+    }
+
+    private static void logLost(WorkflowTransition transition, RuntimeException e) {
+        log.error("Lost transition history entry: workflow {} {} -> {} by {} ({}) at {}",
+                transition.getWorkflowId(), transition.getFromStatus(), transition.getToStatus(),
+                transition.getActor(), transition.getRole(), transition.getTransitionedAt(), e);
+    }
+
+    // ─── SmartLifecycle ─────────────────────────────────────────────
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::runLoop, "transition-history-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        // No interrupt: the worker notices within one flush-interval, and an
+        // interrupt during a JDBC call could break the connection
+        running = false;
+        try {
+            worker.join(Duration.ofSeconds(10).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Anything recorded while we were stopping
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
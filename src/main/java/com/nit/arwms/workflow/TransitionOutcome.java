@@ -0,0 +1,21 @@
+package com.nit.arwms.workflow;
+
+/**
+ * Result of one item in a bulk transition.
+ *
+ * These mirror the errors the single-workflow endpoint reports as HTTP
+ * statuses (404, 409), but in a bulk request each item gets its own
+ * outcome and the request as a whole still succeeds.
+ */
+public enum TransitionOutcome {
+    /** Status changed. */
+    SUCCESS,
+    /** No workflow with this id. */
+    NOT_FOUND,
+    /** The state machine does not allow current → target. */
+    INVALID_TRANSITION,
+    /** The caller's role may not perform this transition. */
+    WRONG_ROLE,
+    /** Another request changed the workflow's status first. */
+    CONFLICT
+}
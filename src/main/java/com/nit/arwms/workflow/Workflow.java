@@ -9,7 +9,10 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * JPA Entity representing a workflow in the system.
@@ -20,13 +23,60 @@ import jakarta.persistence.Table;
  * @Enumerated(EnumType.STRING) stores the enum name as text,
  *                              making the database readable and safe from enum
  *                              reordering bugs.
+ *
+ * Key Concept: Composite Indexes
+ * --------------------------------
+ * Almost every screen asks "workflows in status X, newest first" or
+ * "workflows created in this time range". Without an index the database
+ * scans every row to answer that.
+ *
+ * - (status, created_at DESC): equality on status, then a range/sort on
+ *   created_at, all served from one index. Column order matters — an
+ *   index on (created_at, status) could not jump straight to one status.
+ * - (created_at DESC, id DESC): time-range queries and the keyset-paginated
+ *   listing (same order as WorkflowService's page order).
+ *
+ * created_at is stored DESC because every screen shows newest first; some
+ * databases (H2 included) can only skip the sort step when the index
+ * direction matches the ORDER BY.
+ *
+ * Key Concept: Pooled ID generation
+ * -----------------------------------
+ * With GenerationType.IDENTITY the database assigns the id during the
+ * INSERT, so Hibernate must execute every INSERT immediately to learn
+ * the id — which silently disables JDBC insert batching.
+ *
+ * A SEQUENCE with allocationSize = 50 (Hibernate's "pooled" optimizer)
+ * reserves 50 ids per sequence call. Ids are known before the INSERTs
+ * run, so Hibernate can send them in batches of hibernate.jdbc.batch_size.
+ * On databases without sequences (MySQL) Hibernate emulates the sequence
+ * with a table, with the same pooling.
+ *
+ * Key Concept: Workflow types
+ * -----------------------------
+ * type names the configured WorkflowDefinition whose transition rules
+ * apply to this workflow (see WorkflowEngine). It is fixed at creation.
+ *
+ * Key Concept: Change sequence
+ * ------------------------------
+ * change_seq is set from WorkflowChangeSequence on every create and
+ * transition, so it always holds the number of the workflow's latest
+ * change. The change feed reads "change_seq > cursor" in order from
+ * idx_workflows_change_seq: a sync costs as much as the number of changed
+ * workflows, not the size of the table. Rows written outside
+ * WorkflowService have no number and are not in the feed.
  */
 @Entity
-@Table(name = "workflows")
+@Table(name = "workflows", indexes = {
+        @Index(name = "idx_workflows_status_created_at", columnList = "status, created_at DESC"),
+        @Index(name = "idx_workflows_created_at_id", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_workflows_change_seq", columnList = "change_seq", unique = true)
+})
 public class Workflow {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workflows_seq")
+    @SequenceGenerator(name = "workflows_seq", sequenceName = "workflows_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -34,6 +84,9 @@ public class Workflow {
 
     private String description;
 
+    @Column(name = "workflow_type", nullable = false, length = 50)
+    private String type;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private WorkflowStatus status;
@@ -41,13 +94,32 @@ public class Workflow {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    /**
+     * Optimistic-locking version, bumped on every change.
+     * Hibernate adds "AND version = ?" to entity UPDATEs, and the
+     * status compare-and-set in WorkflowRepository increments it too,
+     * so a stale write fails instead of silently overwriting.
+     */
+    @Version
+    private Long version;
+
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
     // Default constructor (required by JPA)
     public Workflow() {
     }
 
-    // Constructor with all fields
+    // Constructor for a workflow of the default type
     public Workflow(Long id, String title, String description, WorkflowStatus status, LocalDateTime createdAt) {
+        this(id, WorkflowEngine.DEFAULT_TYPE, title, description, status, createdAt);
+    }
+
+    // Constructor with all fields
+    public Workflow(Long id, String type, String title, String description, WorkflowStatus status,
+            LocalDateTime createdAt) {
         this.id = id;
+        this.type = type;
         this.title = title;
         this.description = description;
         this.status = status;
@@ -79,6 +151,14 @@ public class Workflow {
         this.description = description;
     }
 
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
     public WorkflowStatus getStatus() {
         return status;
     }
@@ -94,4 +174,16 @@ public class Workflow {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
 }
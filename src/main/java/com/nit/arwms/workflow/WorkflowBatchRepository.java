@@ -0,0 +1,40 @@
+package com.nit.arwms.workflow;
+
+import java.util.List;
+
+/**
+ * Batch operations on workflows that Spring Data cannot derive.
+ *
+ * Key Concept: Repository Fragments
+ * -----------------------------------
+ * WorkflowRepository extends this interface, and Spring Data finds the
+ * implementation by name (WorkflowBatchRepositoryImpl). Callers see one
+ * repository; the batch SQL stays out of the service layer.
+ */
+public interface WorkflowBatchRepository {
+
+    /**
+     * One compare-and-set: move workflow {@code id}, read in status
+     * {@code expected} at version {@code expectedVersion}, to
+     * {@code target}.
+     */
+    record StatusChange(Long id, WorkflowStatus expected, long expectedVersion, WorkflowStatus target) {
+    }
+
+    /**
+     * Applies many compare-and-set status changes as one JDBC batch:
+     *
+     * UPDATE workflows SET status = ?, version = version + 1, change_seq = ?
+     * WHERE id = ? AND version = ?
+     *
+     * The check is on the version read, not the status: a workflow that
+     * left {@code expected} and came back to it (e.g. REJECTED → DRAFT →
+     * ... → REJECTED) has the same status but a newer version, and must
+     * not be changed on the strength of the old read. Change i is given
+     * change sequence number {@code firstChangeSeq + i}.
+     *
+     * @return one update count per change, in order: 1 if applied, 0 if the
+     *         workflow was changed after it was read
+     */
+    int[] compareAndSetStatuses(List<StatusChange> changes, long firstChangeSeq);
+}
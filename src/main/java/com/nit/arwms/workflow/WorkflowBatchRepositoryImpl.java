@@ -0,0 +1,89 @@
+package com.nit.arwms.workflow;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC implementation of WorkflowBatchRepository.
+ *
+ * Uses JdbcTemplate rather than JPA: a JDBC batch sends all statements
+ * in one round trip and reports a separate update count per row, which
+ * is exactly what a per-item compare-and-set needs. JdbcTemplate joins
+ * the surrounding JPA transaction, so the batch commits or rolls back
+ * together with the rest of the service method.
+ *
+ * Some drivers do not report per-row counts for a batch (e.g. MySQL
+ * with rewriteBatchedStatements), only Statement.SUCCESS_NO_INFO. That
+ * does not say whether the WHERE clause matched, so for those rows the
+ * outcome is read back: every change writes its own change_seq, so the
+ * change was applied if and only if the row now carries that number. The
+ * UPDATE still holds its row lock, so no one else can have changed it
+ * since.
+ */
+class WorkflowBatchRepositoryImpl implements WorkflowBatchRepository {
+
+    private static final String COMPARE_AND_SET_SQL = "UPDATE workflows SET status = ?, version = version + 1,"
+            + " change_seq = ? WHERE id = ? AND version = ?";
+
+    private static final String CHANGE_SEQ_SQL = "SELECT id, change_seq FROM workflows WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    WorkflowBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int[] compareAndSetStatuses(List<StatusChange> changes, long firstChangeSeq) {
+        AtomicLong changeSeq = new AtomicLong(firstChangeSeq);
+        int[][] counts = jdbcTemplate.batchUpdate(COMPARE_AND_SET_SQL, changes, changes.size(), (ps, change) -> {
+            ps.setString(1, change.target().name());
+            ps.setLong(2, changeSeq.getAndIncrement());
+            ps.setLong(3, change.id());
+            ps.setLong(4, change.expectedVersion());
+        });
+
+        int[] result = new int[changes.size()];
+        List<Integer> unknown = new ArrayList<>();
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    unknown.add(i);
+                }
+                result[i++] = count;
+            }
+        }
+        if (!unknown.isEmpty()) {
+            resolveUnknownCounts(changes, firstChangeSeq, unknown, result);
+        }
+        return result;
+    }
+
+    /**
+     * Sets result[i] to 1 or 0 for each index in {@code unknown}, by
+     * comparing the row's change_seq with the one change i would have set.
+     */
+    private void resolveUnknownCounts(List<StatusChange> changes, long firstChangeSeq,
+            List<Integer> unknown, int[] result) {
+        List<Long> ids = unknown.stream().map(index -> changes.get(index).id()).distinct().toList();
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Map<Long, Long> changeSeqs = new HashMap<>();
+        jdbcTemplate.query(String.format(CHANGE_SEQ_SQL, placeholders),
+                rs -> {
+                    changeSeqs.put(rs.getLong(1), rs.getLong(2));
+                },
+                ids.toArray());
+        for (int index : unknown) {
+            Long changeSeq = changeSeqs.get(changes.get(index).id());
+            result[index] = changeSeq != null && changeSeq == firstChangeSeq + index ? 1 : 0;
+        }
+    }
+}
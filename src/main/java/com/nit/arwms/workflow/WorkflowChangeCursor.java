@@ -0,0 +1,52 @@
+package com.nit.arwms.workflow;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.nit.arwms.exception.InvalidCursorException;
+
+/**
+ * Position in the change feed: the change sequence number of the last
+ * change a consumer has seen (see WorkflowChangeSequence).
+ *
+ * Like WorkflowCursor, clients receive it as an opaque Base64 token. It
+ * only ever moves forward, so a consumer can store it and resume from it
+ * at any time, even after a restart.
+ */
+public record WorkflowChangeCursor(long changeSeq) {
+
+    private static final String PREFIX = "changes|";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /** The start of the feed: every workflow counts as a change. */
+    public static final WorkflowChangeCursor START = new WorkflowChangeCursor(0);
+
+    /**
+     * Encodes this cursor as an opaque, URL-safe token.
+     */
+    public String encode() {
+        return ENCODER.encodeToString((PREFIX + changeSeq).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @throws InvalidCursorException if the token is malformed
+     */
+    public static WorkflowChangeCursor decode(String token) {
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new InvalidCursorException(token);
+            }
+            long changeSeq = Long.parseLong(raw.substring(PREFIX.length()));
+            if (changeSeq < 0) {
+                throw new InvalidCursorException(token);
+            }
+            return new WorkflowChangeCursor(changeSeq);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.nit.arwms.workflow;
+
+import java.util.List;
+
+/**
+ * DTO for one page of the change feed.
+ *
+ * items are the current state of each workflow created or transitioned
+ * since the requested cursor, oldest change first. A workflow changed
+ * several times appears once, at its latest change.
+ *
+ * nextCursor is always set: store it and pass it back as "cursor" to
+ * continue. hasMore is true if more changes are available right now;
+ * otherwise the consumer is up to date and can poll again later with
+ * the same nextCursor.
+ */
+public record WorkflowChangePage(
+        List<WorkflowResponse> items,
+        String nextCursor,
+        boolean hasMore) {
+}
@@ -0,0 +1,81 @@
+package com.nit.arwms.workflow;
+
+import java.util.TreeSet;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out change sequence numbers for Workflow.changeSeq and knows up to
+ * which number the change feed may safely read.
+ *
+ * Key Concept: Allocation order is not commit order
+ * ---------------------------------------------------
+ * Two transactions can take numbers 10 and 11 and then commit 11 first.
+ * A consumer that read the feed at that moment would see 11, store it as
+ * its cursor, and never see 10. So every number stays "in flight" until
+ * its transaction completes (commit or rollback), and the feed only reads
+ * up to just below the oldest number still in flight (stableUpTo()).
+ *
+ * Numbers are strictly increasing but may have gaps (rollbacks, bulk
+ * transitions that lose a compare-and-set). The counter starts from the
+ * highest number in the table. Like WorkflowCollectionVersion it assumes
+ * one application instance: all writes go through this counter.
+ */
+@Component
+public class WorkflowChangeSequence {
+
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private long last;
+
+    public WorkflowChangeSequence(WorkflowRepository workflowRepository) {
+        this.last = workflowRepository.findMaxChangeSeq();
+    }
+
+    /**
+     * Reserves one number. See {@link #reserve(int)}.
+     */
+    public long next() {
+        return reserve(1);
+    }
+
+    /**
+     * Reserves {@code count} consecutive numbers, held in flight until the
+     * current transaction completes.
+     *
+     * @return the first reserved number
+     * @throws IllegalStateException if no transaction is active
+     */
+    public long reserve(int count) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Change sequence numbers must be reserved inside a transaction");
+        }
+        long first;
+        synchronized (this) {
+            first = last + 1;
+            last += count;
+            // The rest of the block is above first, so first alone holds the watermark back
+            inFlight.add(first);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(first);
+            }
+        });
+        return first;
+    }
+
+    /**
+     * Highest number below which every change is committed (or rolled back
+     * for good). The change feed never reads past it.
+     */
+    public synchronized long stableUpTo() {
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+
+    private synchronized void release(long first) {
+        inFlight.remove(first);
+    }
+}
@@ -0,0 +1,46 @@
+package com.nit.arwms.workflow;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * A counter that changes whenever any workflow is created or transitioned,
+ * used as the ETag of workflow listings.
+ *
+ * Key Concept: Collection versions
+ * ----------------------------------
+ * A single workflow has its own @Version, but a listing is the result of a
+ * query — there is no row whose version says "this page changed". Instead,
+ * every write bumps this counter (after commit). If the counter has not
+ * moved since a client's last listing, no listing can have changed, and
+ * GET /api/workflows can answer 304 without running the query at all.
+ *
+ * The counter lives in memory, prefixed with this instance's start time
+ * so ETags from before a restart never match. Like the other in-process
+ * caches here, it assumes one application instance: writes made through
+ * another instance would not bump it.
+ */
+@Component
+public class WorkflowCollectionVersion {
+
+    private final String instance = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong counter = new AtomicLong();
+
+    /**
+     * Current version, e.g. "lx3k9q2a-42". Read it BEFORE running the
+     * listing query: a write that commits in between then makes the ETag
+     * too old (one extra 200), never too new (a wrong 304).
+     */
+    public String current() {
+        return instance + "-" + counter.get();
+    }
+
+    /**
+     * Moves the version forward once the current transaction (if any)
+     * commits.
+     */
+    public void bumpAfterCommit() {
+        AfterCommit.run(counter::incrementAndGet);
+    }
+}
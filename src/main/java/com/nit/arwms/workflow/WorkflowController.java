@@ -1,8 +1,17 @@
 package com.nit.arwms.workflow;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,11 +19,16 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import com.nit.arwms.auth.User;
+import com.nit.arwms.auth.AuthenticatedUser;
+import com.nit.arwms.system.ReplicaRoutingDataSource;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 /**
@@ -24,31 +38,207 @@ import jakarta.validation.Valid;
  * the authenticated user's JWT token instead of trusting the request body.
  * The "role" field in WorkflowTransitionRequest is still used for backward
  * compatibility but the authenticated user's role takes priority.
+ *
+ * ETag Update: GET endpoints send strong ETags and answer If-None-Match
+ * with 304 Not Modified (see WorkflowETags).
+ *
+ * Events Update: GET /api/workflows/events streams creates and
+ * transitions as Server-Sent Events, replacing list polling.
+ *
+ * Change Feed Update: GET /api/workflows/changes lets other systems sync
+ * only what changed since their last cursor.
+ *
+ * Status Summary Update: GET /api/workflows/summary returns the number of
+ * workflows in each status for dashboards.
+ *
+ * Search Update: GET /api/workflows/search finds workflows by words in
+ * their title or description.
+ *
+ * Export Update: GET /api/workflows/export streams all matching workflows
+ * as NDJSON or CSV (see WorkflowExporter).
  */
 @RestController
 @RequestMapping("/api/workflows")
 public class WorkflowController {
 
     private final WorkflowService workflowService;
+    private final WorkflowEventBroadcaster events;
+    private final WorkflowExporter exporter;
 
-    public WorkflowController(WorkflowService workflowService) {
+    public WorkflowController(WorkflowService workflowService, WorkflowEventBroadcaster events,
+            WorkflowExporter exporter) {
         this.workflowService = workflowService;
+        this.events = events;
+        this.exporter = exporter;
     }
 
     /**
-     * GET /api/workflows - List all workflows
+     * GET /api/workflows - List workflows, one page at a time (newest first)
+     *
+     * Optional query parameters:
+     * - status: only workflows in this status (e.g. SUBMITTED)
+     * - from / to: created-at range, ISO date-time, from inclusive, to exclusive
+     * - cursor: nextCursor from the previous page
+     * - size: page size (default 20, max 100)
+     *
+     * The ETag is the collection version, so an unchanged collection is
+     * answered with 304 without querying. A page served by a read replica
+     * is tagged with WorkflowETags.forPage() instead: it may not include
+     * every change the collection version counts.
      */
     @GetMapping
-    public List<WorkflowResponse> getAllWorkflows() {
-        return workflowService.getAllWorkflows();
+    public ResponseEntity<WorkflowPage> getAllWorkflows(
+            @RequestParam(required = false) WorkflowStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        // Read the collection version before querying (see WorkflowCollectionVersion)
+        String etag = WorkflowETags.forCollection(workflowService.getCollectionVersion());
+        if (WorkflowETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        WorkflowPage page = workflowService.getAllWorkflows(new WorkflowFilter(status, from, to), cursor, size);
+        if (ReplicaRoutingDataSource.servedByReplicaInThisRequest()) {
+            // The replica may lag behind the collection version: tag what was actually read
+            etag = WorkflowETags.forPage(page);
+            if (WorkflowETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        return ResponseEntity.ok().eTag(etag).body(page);
+    }
+
+    /**
+     * GET /api/workflows/changes - Workflows created or transitioned since a cursor
+     *
+     * Optional query parameters:
+     * - cursor: nextCursor from the previous call (omit to start from the
+     *   beginning)
+     * - size: page size (default 100, max 1000)
+     *
+     * Keep calling with nextCursor while hasMore is true; after that, store
+     * nextCursor and resume from it on the next sync.
+     */
+    @GetMapping("/changes")
+    public WorkflowChangePage getChanges(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return workflowService.getChanges(cursor, size);
+    }
+
+    /**
+     * GET /api/workflows/export - Download all workflows (NDJSON or CSV)
+     *
+     * Optional query parameters:
+     * - format: NDJSON (default) or CSV
+     * - status / from / to: same filters as GET /api/workflows
+     *
+     * Rows are written to the response as they are read from the database,
+     * oldest id first, so memory use does not grow with the number of
+     * workflows. Sent as an attachment, e.g. workflows-2026-03-01.csv.
+     */
+    @GetMapping("/export")
+    public void exportWorkflows(
+            @RequestParam(defaultValue = "NDJSON") WorkflowExportFormat format,
+            @RequestParam(required = false) WorkflowStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            HttpServletResponse response) throws IOException {
+
+        response.setContentType(format.contentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("workflows-" + LocalDate.now() + "." + format.extension())
+                .build().toString());
+        exporter.export(new WorkflowFilter(status, from, to), format, response.getOutputStream());
+    }
+
+    /**
+     * GET /api/workflows/summary - Number of workflows in each status
+     *
+     * Served from counters kept up to date by every create and transition
+     * (see WorkflowStatusCounts), so it costs the same for ten workflows
+     * or ten million.
+     */
+    @GetMapping("/summary")
+    public WorkflowStatusSummary getStatusSummary() {
+        return workflowService.getStatusSummary();
+    }
+
+    /**
+     * GET /api/workflows/search - Full-text search, best match first
+     *
+     * Query parameters:
+     * - q: words to find in title or description (required); every word
+     *   must match, each as a prefix ("leav" finds "leave")
+     * - status: only workflows in this status (optional, repeatable)
+     * - limit: number of results (default 20, max 100)
+     *
+     * Title matches and whole-word matches rank higher; ties go to the
+     * newest workflow.
+     */
+    @GetMapping("/search")
+    public WorkflowSearchResponse search(
+            @RequestParam String q,
+            @RequestParam(required = false) Set<WorkflowStatus> status,
+            @RequestParam(required = false) Integer limit) {
+        return workflowService.search(q, status, limit);
+    }
+
+    /**
+     * GET /api/workflows/events - Stream of workflow changes (text/event-stream)
+     *
+     * Each create or transition is sent as an event named "workflow.created"
+     * or "workflow.transitioned" with a WorkflowEvent as JSON data.
+     *
+     * Optional query parameters (repeatable):
+     * - status: only changes that leave a workflow in this status
+     * - workflowId: only changes to this workflow
+     *
+     * Authenticated like every other endpoint (Authorization: Bearer ...).
+     * A client that falls too far behind is disconnected and should
+     * reconnect, then re-read the list (see WorkflowEventBroadcaster).
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestParam(required = false) Set<WorkflowStatus> status,
+            @RequestParam(required = false) Set<Long> workflowId) {
+        return events.subscribe(status, workflowId);
     }
 
     /**
      * GET /api/workflows/{id} - Get workflow by ID
+     *
+     * With If-None-Match, only the workflow's version is looked up first
+     * (cache or a version-only query); the full workflow is loaded and
+     * serialized only if it changed.
      */
     @GetMapping("/{id}")
-    public WorkflowResponse getWorkflowById(@PathVariable Long id) {
-        return workflowService.findById(id);
+    public ResponseEntity<WorkflowResponse> getWorkflowById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        if (ifNoneMatch != null) {
+            String etag = WorkflowETags.forWorkflow(id, workflowService.findVersion(id));
+            if (WorkflowETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+
+        WorkflowResponse workflow = workflowService.findById(id);
+        return ResponseEntity.ok().eTag(WorkflowETags.forWorkflow(workflow)).body(workflow);
+    }
+
+    /**
+     * GET /api/workflows/{id}/transitions - Transition history, oldest first
+     */
+    @GetMapping("/{id}/transitions")
+    public List<WorkflowTransitionResponse> getTransitionHistory(@PathVariable Long id) {
+        return workflowService.getTransitionHistory(id);
     }
 
     /**
@@ -60,6 +250,17 @@ public class WorkflowController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    /**
+     * POST /api/workflows/bulk - Create up to 1000 workflows in one request
+     *
+     * Returns the created workflows in request order.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<WorkflowResponse>> createWorkflows(@Valid @RequestBody BulkCreateRequest request) {
+        List<WorkflowResponse> created = workflowService.createWorkflows(request.getItems());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
     /**
      * PATCH /api/workflows/{id}/transition - Transition workflow status
      *
@@ -73,10 +274,36 @@ public class WorkflowController {
             Authentication authentication) {
 
         // Extract the authenticated user's role from the security context
-        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+        // (a User entity or a TokenPrincipal, depending on the auth mode)
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
             request.setRole(user.getRole().name());
         }
+        if (authentication != null) {
+            request.setActor(authentication.getName());
+        }
 
         return workflowService.transitionWorkflow(id, request);
     }
+
+    /**
+     * POST /api/workflows/bulk/transition - Transition many workflows at once
+     *
+     * Always returns 200 with one result per item (SUCCESS, NOT_FOUND,
+     * INVALID_TRANSITION, WRONG_ROLE or CONFLICT). Like the single
+     * transition, the role comes from the authenticated user.
+     */
+    @PostMapping("/bulk/transition")
+    public BulkTransitionResponse transitionWorkflows(
+            @Valid @RequestBody BulkTransitionRequest request,
+            Authentication authentication) {
+
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            request.setRole(user.getRole().name());
+        }
+        if (authentication != null) {
+            request.setActor(authentication.getName());
+        }
+
+        return workflowService.transitionWorkflows(request);
+    }
 }
@@ -0,0 +1,68 @@
+package com.nit.arwms.workflow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.nit.arwms.exception.InvalidCursorException;
+
+/**
+ * Position of the last workflow on a page, used for keyset pagination.
+ *
+ * Key Concept: Keyset (Cursor) Pagination
+ * ------------------------------------------
+ * OFFSET pagination ("skip 10000 rows, then take 20") gets slower the
+ * deeper you go, because the database still has to walk the skipped rows.
+ * Keyset pagination instead remembers the sort key of the last row sent
+ * and asks for rows strictly after it:
+ *
+ * WHERE created_at < :lastCreatedAt
+ * OR (created_at = :lastCreatedAt AND id < :lastId)
+ *
+ * The id breaks ties between workflows created in the same instant, so
+ * every row appears on exactly one page.
+ *
+ * Clients receive the cursor as an opaque Base64 token and must not
+ * depend on what is inside it.
+ */
+public record WorkflowCursor(LocalDateTime createdAt, Long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Builds the cursor pointing at the given workflow.
+     */
+    public static WorkflowCursor of(Workflow workflow) {
+        return new WorkflowCursor(workflow.getCreatedAt(), workflow.getId());
+    }
+
+    /**
+     * Encodes this cursor as an opaque, URL-safe token.
+     */
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @throws InvalidCursorException if the token is malformed
+     */
+    public static WorkflowCursor decode(String token) {
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException(token);
+            }
+            LocalDateTime createdAt = LocalDateTime.parse(raw.substring(0, separator));
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return new WorkflowCursor(createdAt, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
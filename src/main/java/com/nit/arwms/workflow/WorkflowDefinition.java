@@ -0,0 +1,171 @@
+package com.nit.arwms.workflow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.nit.arwms.auth.Role;
+
+/**
+ * One workflow type compiled into an immutable state machine.
+ *
+ * Key Concept: Compiled transition table
+ * ----------------------------------------
+ * Transition checks run on every transition, so the configured edges are
+ * compiled once into arrays indexed by WorkflowStatus.ordinal():
+ * - allowed[from] is a bitmask; bit "to" is set if from → to is valid
+ * - requiredRoles[from * N + to] is the role for that edge (or null)
+ *
+ * canTransition() and requiredRole() are then an array read plus a bit
+ * test — no string keys, no hashing, no allocation.
+ *
+ * The states of a type are the ones its edges mention; statuses a type
+ * never reaches simply have no outgoing transitions.
+ */
+public final class WorkflowDefinition {
+
+    private static final WorkflowStatus[] STATUSES = WorkflowStatus.values();
+    private static final int N = STATUSES.length;
+
+    /** "FROM->TO:ROLE", whitespace allowed around each part. */
+    private static final Pattern EDGE = Pattern.compile("\\s*(\\w+)\\s*->\\s*(\\w+)\\s*:\\s*(\\w+)\\s*");
+
+    static {
+        if (N > Integer.SIZE) {
+            throw new IllegalStateException("Transition bitmask holds at most 32 statuses");
+        }
+    }
+
+    private final String type;
+    private final WorkflowStatus initialStatus;
+    private final int[] allowed;
+    private final Role[] requiredRoles;
+    private final List<List<WorkflowStatus>> allowedLists;
+
+    private WorkflowDefinition(String type, WorkflowStatus initialStatus, int[] allowed, Role[] requiredRoles) {
+        this.type = type;
+        this.initialStatus = initialStatus;
+        this.allowed = allowed;
+        this.requiredRoles = requiredRoles;
+
+        // Precompute allowedTransitions() so error messages don't rebuild it
+        List<List<WorkflowStatus>> lists = new ArrayList<>(N);
+        for (WorkflowStatus from : STATUSES) {
+            List<WorkflowStatus> targets = new ArrayList<>();
+            for (WorkflowStatus to : STATUSES) {
+                if (canTransition(from, to)) {
+                    targets.add(to);
+                }
+            }
+            lists.add(List.copyOf(targets));
+        }
+        this.allowedLists = List.copyOf(lists);
+    }
+
+    /**
+     * Parses and validates the configured edges of one type.
+     *
+     * @throws IllegalStateException if an edge is malformed, names an unknown
+     *                               status or role, is declared twice, or
+     *                               cannot be reached from the initial status
+     */
+    static WorkflowDefinition compile(String type, WorkflowStatus initialStatus, List<String> edges) {
+        if (initialStatus == null) {
+            throw invalid(type, "initial status is required");
+        }
+        if (edges == null || edges.isEmpty()) {
+            throw invalid(type, "at least one transition is required");
+        }
+
+        int[] allowed = new int[N];
+        Role[] requiredRoles = new Role[N * N];
+        for (String edge : edges) {
+            Matcher m = EDGE.matcher(edge);
+            if (!m.matches()) {
+                throw invalid(type, "transition '" + edge + "' is not in the form FROM->TO:ROLE");
+            }
+            WorkflowStatus from = parse(WorkflowStatus.class, m.group(1), type, edge);
+            WorkflowStatus to = parse(WorkflowStatus.class, m.group(2), type, edge);
+            Role role = parse(Role.class, m.group(3), type, edge);
+
+            if (from == to) {
+                throw invalid(type, "transition '" + edge + "' does not change status");
+            }
+            if ((allowed[from.ordinal()] & bit(to)) != 0) {
+                throw invalid(type, "transition " + from + "->" + to + " is declared twice");
+            }
+            allowed[from.ordinal()] |= bit(to);
+            requiredRoles[from.ordinal() * N + to.ordinal()] = role;
+        }
+
+        // Every edge must start from a status a workflow can actually reach
+        int reachable = bit(initialStatus);
+        for (int frontier = reachable; frontier != 0;) {
+            int next = 0;
+            for (int i = 0; i < N; i++) {
+                if ((frontier & (1 << i)) != 0) {
+                    next |= allowed[i];
+                }
+            }
+            frontier = next & ~reachable;
+            reachable |= next;
+        }
+        for (WorkflowStatus from : STATUSES) {
+            if (allowed[from.ordinal()] != 0 && (reachable & bit(from)) == 0) {
+                throw invalid(type, from + " has transitions but is unreachable from " + initialStatus);
+            }
+        }
+
+        return new WorkflowDefinition(type, initialStatus, allowed, requiredRoles);
+    }
+
+    /** Name of this workflow type, as stored on Workflow.type. */
+    public String getType() {
+        return type;
+    }
+
+    /** Status new workflows of this type start in. */
+    public WorkflowStatus getInitialStatus() {
+        return initialStatus;
+    }
+
+    /**
+     * Checks if transitioning from one status to another is valid.
+     */
+    public boolean canTransition(WorkflowStatus from, WorkflowStatus to) {
+        return (allowed[from.ordinal()] & bit(to)) != 0;
+    }
+
+    /**
+     * Returns the role required to perform the transition.
+     *
+     * @return the required role, or null if transition is invalid
+     */
+    public Role requiredRole(WorkflowStatus from, WorkflowStatus to) {
+        return requiredRoles[from.ordinal() * N + to.ordinal()];
+    }
+
+    /**
+     * Returns the list of statuses a workflow can move to from the given one.
+     */
+    public List<WorkflowStatus> allowedTransitions(WorkflowStatus from) {
+        return allowedLists.get(from.ordinal());
+    }
+
+    private static int bit(WorkflowStatus status) {
+        return 1 << status.ordinal();
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> enumType, String name, String type, String edge) {
+        try {
+            return Enum.valueOf(enumType, name);
+        } catch (IllegalArgumentException e) {
+            throw invalid(type, "unknown " + enumType.getSimpleName() + " '" + name + "' in '" + edge + "'");
+        }
+    }
+
+    private static IllegalStateException invalid(String type, String problem) {
+        return new IllegalStateException("Invalid workflow definition '" + type + "': " + problem);
+    }
+}
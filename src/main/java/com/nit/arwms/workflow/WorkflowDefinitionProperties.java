@@ -0,0 +1,26 @@
+package com.nit.arwms.workflow;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Workflow types as written in application.properties.
+ *
+ * Each type names its initial status and its transitions, one edge per
+ * list entry in the form "FROM->TO:ROLE":
+ *
+ * workflow.definitions.types.standard.initial=DRAFT
+ * workflow.definitions.types.standard.transitions=DRAFT->SUBMITTED:REQUESTER, ...
+ *
+ * This is only the raw text. WorkflowEngine validates it and compiles
+ * each type into a WorkflowDefinition at startup, so a typo fails the
+ * application start instead of the first transition.
+ */
+@ConfigurationProperties(prefix = "workflow.definitions")
+public record WorkflowDefinitionProperties(Map<String, Type> types) {
+
+    public record Type(WorkflowStatus initial, List<String> transitions) {
+    }
+}
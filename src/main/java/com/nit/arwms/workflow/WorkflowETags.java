@@ -0,0 +1,77 @@
+package com.nit.arwms.workflow;
+
+/**
+ * Builds and compares the ETags WorkflowController sends.
+ *
+ * Key Concept: Conditional GET
+ * ------------------------------
+ * Each response carries an ETag, a short fingerprint of its content. A
+ * polling client sends it back in If-None-Match; if it still matches,
+ * the server answers 304 Not Modified with no body — no JSON is
+ * serialized or downloaded.
+ *
+ * The ETags are strong: they come from versions that change on every
+ * write, not from hashing the body. The exception is a listing page read
+ * from a read replica (forPage()), which is tagged with the ids and
+ * versions of the rows it actually holds.
+ */
+final class WorkflowETags {
+
+    private WorkflowETags() {
+    }
+
+    static String forWorkflow(WorkflowResponse workflow) {
+        return forWorkflow(workflow.id(), workflow.version());
+    }
+
+    static String forWorkflow(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    static String forCollection(String collectionVersion) {
+        return "\"c-" + collectionVersion + "\"";
+    }
+
+    /**
+     * ETag of one listing page, from the id and version of every item and
+     * the next cursor (64-bit FNV-1a). Answering 304 with it still runs the
+     * listing query, but skips serializing and sending the page.
+     */
+    static String forPage(WorkflowPage page) {
+        long hash = 0xcbf29ce484222325L;
+        for (WorkflowResponse item : page.items()) {
+            hash = fnv1a(hash, item.id() + ":" + item.version() + ",");
+        }
+        hash = fnv1a(hash, String.valueOf(page.nextCursor()));
+        return "\"p-" + Long.toHexString(hash) + "\"";
+    }
+
+    private static long fnv1a(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * True if an If-None-Match header value matches the ETag: "*", or any
+     * of the listed tags (weak "W/" prefixes are ignored, as RFC 9110
+     * requires for If-None-Match).
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,121 @@
+package com.nit.arwms.workflow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.nit.arwms.auth.Role;
+import com.nit.arwms.exception.UnknownWorkflowTypeException;
+
+/**
+ * Registry of workflow types, compiled from configuration at startup.
+ *
+ * Key Concept: Configuration-driven state machine
+ * -------------------------------------------------
+ * Each workflow type (workflow.definitions.types.<name>) declares its own
+ * transition graph and the role required for each edge. Adding a new
+ * approval process is a configuration change, not a code change.
+ *
+ * All types are compiled once into immutable WorkflowDefinitions. At
+ * request time, resolving a type is a single lookup in an immutable map
+ * (the type name's hash is cached by String), and checking a transition
+ * is an array read — both O(1) and allocation-free however many types
+ * are configured.
+ *
+ * The same edges are also indexed backwards, by target status and role
+ * (sources()), so WorkflowService can write a transition before it knows
+ * the workflow's current status or type.
+ */
+@Component
+@EnableConfigurationProperties(WorkflowDefinitionProperties.class)
+public class WorkflowEngine {
+
+    /** Type used when a workflow is created without one. Must be configured. */
+    public static final String DEFAULT_TYPE = "standard";
+
+    private static final WorkflowStatus[] STATUSES = WorkflowStatus.values();
+    private static final Role[] ROLES = Role.values();
+
+    /**
+     * Statuses a workflow may move to some target from, with a given role,
+     * and the types in which that edge exists.
+     */
+    public record TransitionSource(WorkflowStatus status, Set<String> types) {
+    }
+
+    private final Map<String, WorkflowDefinition> definitions;
+    private final List<List<TransitionSource>> sources;
+
+    /**
+     * @throws IllegalStateException if any definition is invalid or the
+     *                               default type is missing
+     */
+    public WorkflowEngine(WorkflowDefinitionProperties properties) {
+        Map<String, WorkflowDefinition> compiled = new HashMap<>();
+        if (properties.types() != null) {
+            properties.types().forEach((type, definition) -> compiled.put(type,
+                    WorkflowDefinition.compile(type, definition.initial(), definition.transitions())));
+        }
+        if (!compiled.containsKey(DEFAULT_TYPE)) {
+            throw new IllegalStateException("No workflow definition configured for default type '"
+                    + DEFAULT_TYPE + "' (workflow.definitions.types." + DEFAULT_TYPE + ")");
+        }
+        this.definitions = Map.copyOf(compiled);
+
+        // sources.get(target * ROLES.length + role), each in status order
+        List<List<TransitionSource>> index = new ArrayList<>(STATUSES.length * ROLES.length);
+        for (WorkflowStatus target : STATUSES) {
+            for (Role role : ROLES) {
+                Map<WorkflowStatus, Set<String>> typesByStatus = new TreeMap<>();
+                definitions.forEach((type, definition) -> {
+                    for (WorkflowStatus from : STATUSES) {
+                        if (definition.canTransition(from, target) && definition.requiredRole(from, target) == role) {
+                            typesByStatus.computeIfAbsent(from, status -> new HashSet<>()).add(type);
+                        }
+                    }
+                });
+                index.add(typesByStatus.entrySet().stream()
+                        .map(e -> new TransitionSource(e.getKey(), Set.copyOf(e.getValue())))
+                        .toList());
+            }
+        }
+        this.sources = List.copyOf(index);
+    }
+
+    /**
+     * Returns the compiled definition of a workflow type.
+     *
+     * @param type type name, or null for DEFAULT_TYPE
+     * @throws UnknownWorkflowTypeException if no such type is configured
+     */
+    public WorkflowDefinition definition(String type) {
+        WorkflowDefinition definition = definitions.get(type == null ? DEFAULT_TYPE : type);
+        if (definition == null) {
+            throw new UnknownWorkflowTypeException(type, definitions.keySet());
+        }
+        return definition;
+    }
+
+    /**
+     * Where a workflow can move to {@code target} from, acting as
+     * {@code role}: every status with such an edge in at least one type.
+     * Precomputed, so this is a list lookup.
+     *
+     * @param role the acting role, or null for none (no sources)
+     */
+    public List<TransitionSource> sources(WorkflowStatus target, Role role) {
+        return role == null ? List.of() : sources.get(target.ordinal() * ROLES.length + role.ordinal());
+    }
+
+    /** Names of all configured workflow types. */
+    public Set<String> types() {
+        return definitions.keySet();
+    }
+}
@@ -0,0 +1,40 @@
+package com.nit.arwms.workflow;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change to a workflow, pushed to subscribers of
+ * GET /api/workflows/events (see WorkflowEventBroadcaster).
+ *
+ * fromStatus is null for CREATED events; status is the status the
+ * workflow is in after the change. actor is null when unknown.
+ */
+public record WorkflowEvent(
+        Kind kind,
+        Long workflowId,
+        String type,
+        WorkflowStatus fromStatus,
+        WorkflowStatus status,
+        String actor,
+        LocalDateTime occurredAt) {
+
+    public enum Kind {
+        CREATED,
+        TRANSITIONED;
+
+        /** SSE event name, e.g. "workflow.created". */
+        String eventName() {
+            return "workflow." + name().toLowerCase();
+        }
+    }
+
+    public static WorkflowEvent created(Workflow workflow) {
+        return new WorkflowEvent(Kind.CREATED, workflow.getId(), workflow.getType(),
+                null, workflow.getStatus(), null, LocalDateTime.now());
+    }
+
+    public static WorkflowEvent transitioned(Long id, String type, WorkflowStatus from, WorkflowStatus to,
+            String actor) {
+        return new WorkflowEvent(Kind.TRANSITIONED, id, type, from, to, actor, LocalDateTime.now());
+    }
+}
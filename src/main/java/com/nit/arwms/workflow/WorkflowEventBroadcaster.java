@@ -0,0 +1,288 @@
+package com.nit.arwms.workflow;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes workflow create/transition events to Server-Sent Events
+ * subscribers (GET /api/workflows/events).
+ *
+ * Key Concept: Push instead of poll
+ * -----------------------------------
+ * A client that polls the workflow list every few seconds costs one
+ * request (and one query) per interval even when nothing changed. A
+ * subscriber instead keeps one connection open and receives an event only
+ * when a workflow it cares about actually changes.
+ *
+ * Key Concept: Bounded buffers, never block the publisher
+ * ---------------------------------------------------------
+ * publish() runs on the thread that made the change, so it must not wait
+ * for the network. It only puts the event on each matching subscriber's
+ * buffer (at most buffer-size events) and returns. A small pool of sender
+ * threads drains the buffers and writes to the connections.
+ *
+ * A subscriber that cannot keep up — its buffer is full — is dropped:
+ * its stream is closed and the client is expected to reconnect and
+ * re-read the current state. One slow client can therefore never slow
+ * down transitions or hold events back from other clients. Drops are
+ * counted in workflow.events.dropped.
+ *
+ * Events are published only after the change commits, and only to
+ * subscribers connected to this instance.
+ */
+@Component
+public class WorkflowEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkflowEventBroadcaster.class);
+
+    static final String POOL_NAME = "workflow-events";
+
+    /** Buffered item that sends a keep-alive comment instead of an event. */
+    private static final Message HEARTBEAT = new Message(0, null);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final int bufferSize;
+    private final Duration timeout;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+    private final Counter dropped;
+
+    public WorkflowEventBroadcaster(MeterRegistry meterRegistry,
+            @Value("${workflow.events.buffer-size:256}") int bufferSize,
+            @Value("${workflow.events.sender-threads:4}") int senderThreads,
+            @Value("${workflow.events.timeout:30m}") Duration timeout,
+            @Value("${workflow.events.heartbeat:15s}") Duration heartbeat) {
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+
+        // Unbounded task queue, but each subscriber has at most one task
+        // queued at a time (see Subscriber.schedule)
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                task -> {
+                    Thread thread = new Thread(task, POOL_NAME + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.senders = ExecutorServiceMetrics.monitor(meterRegistry, pool, POOL_NAME);
+
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, POOL_NAME + "-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleAtFixedRate(this::heartbeat,
+                heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+
+        this.dropped = Counter.builder("workflow.events.dropped")
+                .description("SSE subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("workflow.events.subscribers", subscribers, Set::size)
+                .description("Connected SSE subscribers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of events, optionally filtered.
+     *
+     * @param statuses    only events whose (new) status is one of these;
+     *                    null or empty for all
+     * @param workflowIds only events for these workflows; null or empty for
+     *                    all
+     */
+    public SseEmitter subscribe(Set<WorkflowStatus> statuses, Set<Long> workflowIds) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        register(emitter, event -> (statuses == null || statuses.isEmpty() || statuses.contains(event.status()))
+                && (workflowIds == null || workflowIds.isEmpty() || workflowIds.contains(event.workflowId())));
+        return emitter;
+    }
+
+    /**
+     * Registers an emitter. Package-private so tests can supply their own.
+     */
+    void register(SseEmitter emitter, Predicate<WorkflowEvent> filter) {
+        Subscriber subscriber = new Subscriber(emitter, filter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        // Sends the response headers right away, so the client (and any
+        // proxy) sees the stream open before the first event
+        subscriber.offer(HEARTBEAT);
+    }
+
+    /**
+     * Publishes an event once the current transaction (if any) commits.
+     */
+    public void publishAfterCommit(WorkflowEvent event) {
+        AfterCommit.run(() -> publish(event));
+    }
+
+    /**
+     * Hands the event to every matching subscriber without waiting for
+     * any of them.
+     */
+    void publish(WorkflowEvent event) {
+        Message message = new Message(sequence.incrementAndGet(), event);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.filter.test(event)) {
+                subscriber.offer(message);
+            }
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void heartbeat() {
+        // Writing is also how a disconnected client is noticed
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(Subscriber::drop);
+        pool.shutdown();
+    }
+
+    private record Message(long id, WorkflowEvent event) {
+    }
+
+    /**
+     * One connected client: its filter, its buffer, and a flag that makes
+     * sure at most one sender thread drains the buffer at a time (so
+     * events arrive in order).
+     */
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final Predicate<WorkflowEvent> filter;
+        private final BlockingQueue<Message> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean dropped;
+        private volatile boolean completed;
+
+        Subscriber(SseEmitter emitter, Predicate<WorkflowEvent> filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+
+        /** Called on the publisher's thread: must never block. */
+        void offer(Message message) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(message)) {
+                drop();
+                return;
+            }
+            schedule();
+        }
+
+        /**
+         * Stops delivery and asks a sender thread to end the stream. Only
+         * the caller that actually closes the subscriber counts the drop,
+         * however many publishers find its buffer full at the same time.
+         */
+        void drop() {
+            if (close()) {
+                log.debug("Dropping slow SSE subscriber ({} events buffered)", bufferSize);
+                WorkflowEventBroadcaster.this.dropped.increment();
+                dropped = true;
+                schedule();
+            }
+        }
+
+        /** Stops delivery; returns false if already closed. */
+        boolean close() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            subscribers.remove(this);
+            buffer.clear();
+            return true;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    scheduled.set(false);
+                    close();
+                }
+            }
+        }
+
+        /** Runs on a sender thread. */
+        @Override
+        public void run() {
+            try {
+                Message message;
+                while (!closed.get() && (message = buffer.poll()) != null) {
+                    send(message);
+                }
+                if (dropped && !completed) {
+                    completed = true;
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away (or the stream already ended)
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            // Something arrived after the loop ended but before the flag
+            // was cleared: nobody else will schedule it
+            if ((!closed.get() && !buffer.isEmpty()) || (dropped && !completed)) {
+                schedule();
+            }
+        }
+
+        private void send(Message message) throws IOException {
+            if (message.event() == null) {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } else {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(message.id()))
+                        .name(message.event().kind().eventName())
+                        .data(message.event(), MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+}
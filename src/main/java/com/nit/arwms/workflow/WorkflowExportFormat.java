@@ -0,0 +1,29 @@
+package com.nit.arwms.workflow;
+
+/**
+ * Output formats of GET /api/workflows/export.
+ *
+ * - NDJSON: one JSON object per line, the same fields as WorkflowResponse;
+ *   each line can be parsed on its own, so consumers can stream too
+ * - CSV: a header row, then one row per workflow (RFC 4180 quoting)
+ */
+public enum WorkflowExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    WorkflowExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+}
@@ -0,0 +1,215 @@
+package com.nit.arwms.workflow;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nit.arwms.workflow.WorkflowMetrics.Operation;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Writes every workflow matching a filter to an output stream, as NDJSON
+ * or CSV, in constant memory.
+ *
+ * Key Concept: Streaming instead of materializing
+ * -------------------------------------------------
+ * Loading all rows as a List (and then a List of DTOs, and then one big
+ * JSON string) needs memory proportional to the table. Here nothing is
+ * held for longer than one batch:
+ *
+ * 1. Forward-only cursor: Hibernate's ScrollableResults reads the result
+ *    set row by row, and the JDBC driver fetches fetch-size rows per round
+ *    trip instead of the whole result.
+ * 2. Session clearing: every entity read is also kept by the persistence
+ *    context (the first-level cache) until the transaction ends. Clearing
+ *    it after every fetch-size rows lets those entities be collected. The
+ *    query is read-only, so no dirty-checking snapshots are kept either.
+ * 3. Streaming output: each row is written straight to the response with
+ *    Jackson's JsonGenerator (or a Writer for CSV) — no WorkflowResponse,
+ *    no intermediate String. The servlet container sends its buffer to
+ *    the client as it fills.
+ *
+ * Rows come in id order (primary key index, no sort) inside one read-only
+ * transaction, so the export is a consistent snapshot as far as the
+ * database isolation level allows. Some drivers need extra settings to
+ * really stream (MySQL: useCursorFetch=true); H2 spills large results to
+ * disk.
+ */
+@Component
+public class WorkflowExporter {
+
+    static final String[] COLUMNS = { "id", "title", "description", "type", "status", "createdAt" };
+
+    /** First characters that make a spreadsheet treat a cell as a formula. */
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final WorkflowMetrics metrics;
+    private final int fetchSize;
+
+    public WorkflowExporter(EntityManager entityManager,
+            ObjectMapper objectMapper,
+            WorkflowMetrics metrics,
+            @Value("${workflow.export.fetch-size:500}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes the matching workflows to {@code out} (not closed).
+     *
+     * @return number of workflows written
+     * @throws UncheckedIOException if writing fails, e.g. the client
+     *                              disconnected
+     */
+    @Transactional(readOnly = true)
+    public long export(WorkflowFilter filter, WorkflowExportFormat format, OutputStream out) {
+        long start = System.nanoTime();
+        try (ScrollableResults<Workflow> rows = scroll(filter)) {
+            return format == WorkflowExportFormat.CSV ? writeCsv(rows, out) : writeNdjson(rows, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            metrics.record(Operation.EXPORT, start);
+        }
+    }
+
+    private ScrollableResults<Workflow> scroll(WorkflowFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Workflow> query = cb.createQuery(Workflow.class);
+        Root<Workflow> root = query.from(Workflow.class);
+        Predicate where = WorkflowSpecifications.matching(filter).toPredicate(root, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.unwrap(Session.class).createSelectionQuery(query)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    private long writeNdjson(ScrollableResults<Workflow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            // Closing the generator must not close the response stream
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Objects are separated by the newlines below, not by the default space
+            json.setRootValueSeparator(null);
+            while (rows.next()) {
+                Workflow workflow = rows.get();
+                json.writeStartObject();
+                json.writeNumberField("id", workflow.getId());
+                json.writeStringField("title", workflow.getTitle());
+                json.writeStringField("description", workflow.getDescription());
+                json.writeStringField("type", workflow.getType());
+                json.writeStringField("status", workflow.getStatus().name());
+                json.writeStringField("createdAt", format(workflow.getCreatedAt()));
+                json.writeEndObject();
+                json.writeRaw('\n');
+                if (++count % fetchSize == 0) {
+                    endOfBatch(json::flush);
+                }
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(ScrollableResults<Workflow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        csv.write(String.join(",", COLUMNS));
+        csv.write("\r\n");
+        while (rows.next()) {
+            Workflow workflow = rows.get();
+            csv.write(workflow.getId().toString());
+            csv.write(',');
+            writeCsvField(csv, workflow.getTitle());
+            csv.write(',');
+            writeCsvField(csv, workflow.getDescription());
+            csv.write(',');
+            writeCsvField(csv, workflow.getType());
+            csv.write(',');
+            csv.write(workflow.getStatus().name());
+            csv.write(',');
+            writeCsvField(csv, format(workflow.getCreatedAt()));
+            csv.write("\r\n");
+            if (++count % fetchSize == 0) {
+                endOfBatch(csv::flush);
+            }
+        }
+        csv.flush();
+        return count;
+    }
+
+    /**
+     * Hands the batch to the client and lets its entities be collected.
+     */
+    private void endOfBatch(IoAction flush) throws IOException {
+        flush.run();
+        entityManager.clear();
+    }
+
+    /**
+     * Quotes a field only if it needs it (comma, quote or line break),
+     * doubling embedded quotes. Null is written as an empty field.
+     *
+     * A value starting with =, +, -, @, tab or CR gets a leading ' first.
+     * Titles and descriptions are user input, and a spreadsheet opening
+     * the file would otherwise run such a value as a formula (CSV
+     * injection), e.g. "=HYPERLINK(...)".
+     */
+    private static void writeCsvField(Writer csv, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            csv.write(value);
+            return;
+        }
+        csv.write('"');
+        csv.write(value.replace("\"", "\"\""));
+        csv.write('"');
+    }
+
+    /** Same format as createdAt in the JSON API (always with seconds). */
+    private static String format(LocalDateTime createdAt) {
+        return createdAt == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(createdAt);
+    }
+
+    @FunctionalInterface
+    private interface IoAction {
+        void run() throws IOException;
+    }
+}
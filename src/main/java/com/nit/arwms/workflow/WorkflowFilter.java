@@ -0,0 +1,20 @@
+package com.nit.arwms.workflow;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for listing workflows. Any field may be null,
+ * meaning "do not filter on this".
+ *
+ * from is inclusive and to is exclusive, so consecutive ranges
+ * (e.g. one per day) never overlap.
+ */
+public record WorkflowFilter(
+        WorkflowStatus status,
+        LocalDateTime from,
+        LocalDateTime to) {
+
+    public static WorkflowFilter none() {
+        return new WorkflowFilter(null, null, null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.nit.arwms.workflow;
+
+import java.util.List;
+
+/**
+ * DTO for one page of workflows.
+ *
+ * nextCursor is null on the last page. Otherwise, pass it back as the
+ * "cursor" query parameter to fetch the following page.
+ */
+public record WorkflowPage(
+        List<WorkflowResponse> items,
+        String nextCursor) {
+}
@@ -1,6 +1,17 @@
 package com.nit.arwms.workflow;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository interface for Workflow entity.
@@ -21,8 +32,136 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * JpaRepository<Workflow, Long>:
  * - Workflow = the entity type
  * - Long = the type of the primary key (@Id field)
+ *
+ * JpaSpecificationExecutor<Workflow> adds findBy(Specification, ...), which
+ * lets the service build filtered, keyset-paginated queries from
+ * WorkflowSpecifications without loading the whole table.
+ *
+ * WorkflowBatchRepository adds JDBC batch operations (bulk transitions).
  */
-public interface WorkflowRepository extends JpaRepository<Workflow, Long> {
-    // No methods needed! JpaRepository provides all basic CRUD operations.
-    // Custom query methods can be added here later if needed.
+public interface WorkflowRepository
+        extends JpaRepository<Workflow, Long>, JpaSpecificationExecutor<Workflow>, WorkflowBatchRepository {
+
+    // ─── Index-backed finders ───────────────────────────────────────
+    // Each query below is answered from an index declared on Workflow.
+    // All of them take a Limit so a caller can never pull the whole table.
+
+    // The status finders also sort by status (a no-op, since it is fixed by
+    // the WHERE clause) so that the ORDER BY matches the index column list
+    // and the database can read rows in index order instead of sorting.
+
+    /**
+     * Newest workflows in the given status.
+     * Uses idx_workflows_status_created_at.
+     */
+    @Query("SELECT w FROM Workflow w WHERE w.status = :status ORDER BY w.status, w.createdAt DESC")
+    List<Workflow> findByStatus(@Param("status") WorkflowStatus status, Limit limit);
+
+    /**
+     * Newest workflows in the given status created at or after {@code since}.
+     * Uses idx_workflows_status_created_at (equality + range).
+     */
+    @Query("SELECT w FROM Workflow w WHERE w.status = :status AND w.createdAt >= :since"
+            + " ORDER BY w.status, w.createdAt DESC")
+    List<Workflow> findByStatusSince(@Param("status") WorkflowStatus status,
+            @Param("since") LocalDateTime since,
+            Limit limit);
+
+    /**
+     * Workflows created in [from, to), newest first.
+     * Uses idx_workflows_created_at_id.
+     */
+    @Query("SELECT w FROM Workflow w WHERE w.createdAt >= :from AND w.createdAt < :to ORDER BY w.createdAt DESC")
+    List<Workflow> findCreatedBetween(@Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Limit limit);
+
+    /**
+     * Number of workflows in the given status (index-only scan).
+     */
+    long countByStatus(WorkflowStatus status);
+
+    /**
+     * Number of workflows in each status that has any, in one pass over
+     * the table (start-up and reconciliation only; see WorkflowStatusCounts).
+     */
+    @Query("SELECT w.status AS status, COUNT(w) AS count FROM Workflow w GROUP BY w.status")
+    List<StatusCount> countGroupedByStatus();
+
+    /**
+     * Workflows whose latest change is in (after, upTo], oldest change first.
+     * Uses idx_workflows_change_seq.
+     */
+    @Query("SELECT w FROM Workflow w WHERE w.changeSeq > :after AND w.changeSeq <= :upTo ORDER BY w.changeSeq")
+    List<Workflow> findChangedBetween(@Param("after") long after, @Param("upTo") long upTo, Limit limit);
+
+    /**
+     * Highest change sequence number in use, or 0 (start-up only).
+     */
+    @Query("SELECT COALESCE(MAX(w.changeSeq), 0) FROM Workflow w")
+    long findMaxChangeSeq();
+
+    /**
+     * The fields WorkflowSearchIndex needs, for the next {@code limit}
+     * workflows by id after {@code afterId} (keyset batches over the
+     * primary key; start-up only).
+     */
+    @Query("SELECT w.id AS id, w.title AS title, w.description AS description, w.status AS status"
+            + " FROM Workflow w WHERE w.id > :afterId ORDER BY w.id")
+    List<SearchRow> findSearchRowsAfter(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Only the version of one workflow (primary-key lookup, no entity
+     * hydrated) — enough to answer a conditional GET with 304.
+     */
+    @Query("SELECT w.version FROM Workflow w WHERE w.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // ─── Compare-and-set ────────────────────────────────────────────
+
+    /**
+     * Moves a workflow from {@code expected} to {@code target} in a single
+     * conditional UPDATE, if it is of one of the given types:
+     *
+     * UPDATE workflows SET status = ?, version = version + 1, change_seq = ?
+     * WHERE id = ? AND status = ? AND type IN (...)
+     *
+     * The database applies the check and the write atomically, so two
+     * concurrent transitions out of the same state cannot both succeed.
+     * No row lock is held beyond this one statement. Entities already
+     * loaded in the persistence context are cleared, so a read afterwards
+     * sees the new status.
+     *
+     * @param types workflow types in which expected → target is an edge
+     * @return 1 if the workflow was in {@code expected} and is now in
+     *         {@code target}; 0 if it does not exist, is of another type,
+     *         or was in another status
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Workflow w SET w.status = :target, w.version = w.version + 1, w.changeSeq = :changeSeq"
+            + " WHERE w.id = :id AND w.status = :expected AND w.type IN :types")
+    int compareAndSetStatus(@Param("id") Long id,
+            @Param("expected") WorkflowStatus expected,
+            @Param("types") Collection<String> types,
+            @Param("target") WorkflowStatus target,
+            @Param("changeSeq") long changeSeq);
+
+    /** One row of findSearchRowsAfter(). */
+    interface SearchRow {
+        Long getId();
+
+        String getTitle();
+
+        String getDescription();
+
+        WorkflowStatus getStatus();
+    }
+
+    /** One row of countGroupedByStatus(). */
+    interface StatusCount {
+        WorkflowStatus getStatus();
+
+        long getCount();
+    }
 }
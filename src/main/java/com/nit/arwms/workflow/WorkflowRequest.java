@@ -19,6 +19,9 @@ import jakarta.validation.constraints.Size;
  * @NotBlank — Must not be null and must contain at least one non-whitespace
  *           character
  * @Size — Constrains string length
+ *
+ * type is optional: it selects a configured workflow type (see
+ * WorkflowEngine) and defaults to "standard".
  */
 public class WorkflowRequest {
 
@@ -29,13 +32,21 @@ public class WorkflowRequest {
     @Size(max = 500, message = "Description must be at most 500 characters")
     private String description;
 
+    @Size(max = 50, message = "Type must be at most 50 characters")
+    private String type;
+
     // Default constructor (needed for JSON deserialization)
     public WorkflowRequest() {
     }
 
     public WorkflowRequest(String title, String description) {
+        this(title, description, null);
+    }
+
+    public WorkflowRequest(String title, String description, String type) {
         this.title = title;
         this.description = description;
+        this.type = type;
     }
 
     public String getTitle() {
@@ -53,4 +64,12 @@ public class WorkflowRequest {
     public void setDescription(String description) {
         this.description = description;
     }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
 }
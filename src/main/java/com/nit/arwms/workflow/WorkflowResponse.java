@@ -2,18 +2,27 @@ package com.nit.arwms.workflow;
 
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * DTO for workflow API responses.
  *
  * Phase 7 Update: Status is now a String representation of WorkflowStatus enum.
  * The API still returns a string (e.g., "DRAFT"), keeping the contract simple.
+ *
+ * type is the workflow type whose transition rules apply (see WorkflowEngine).
+ *
+ * version is the entity's optimistic-locking version. It is not part of
+ * the JSON body; WorkflowController sends it as the ETag instead.
  */
 public record WorkflowResponse(
         Long id,
         String title,
         String description,
+        String type,
         String status,
-        LocalDateTime createdAt) {
+        LocalDateTime createdAt,
+        @JsonIgnore Long version) {
 
     /**
      * Factory method to convert a Workflow entity to a response DTO.
@@ -24,7 +33,9 @@ public record WorkflowResponse(
                 workflow.getId(),
                 workflow.getTitle(),
                 workflow.getDescription(),
+                workflow.getType(),
                 workflow.getStatus().name(),
-                workflow.getCreatedAt());
+                workflow.getCreatedAt(),
+                workflow.getVersion());
     }
 }
@@ -0,0 +1,128 @@
+package com.nit.arwms.workflow;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded, expiring cache of single-workflow responses, keyed by id.
+ *
+ * Key Concept: Read-through caching
+ * -----------------------------------
+ * Most workflows stay in one status for hours, yet GET /api/workflows/{id}
+ * used to hit the database every time. get() returns the cached response
+ * or, on a miss, loads it once and keeps it. Unknown ids are not cached.
+ *
+ * Key Concept: Invalidate AFTER commit
+ * --------------------------------------
+ * WorkflowService evicts a workflow when it transitions and puts new
+ * workflows in when they are created — but only once the transaction
+ * commits (same reasoning as UserCacheInvalidator). A rolled-back change
+ * never reaches the cache.
+ *
+ * Two more rules keep readers from caching stale or uncommitted state:
+ * - a load racing with an eviction is safe: Caffeine makes invalidate()
+ *   wait for an in-flight load of the same id, then removes its result
+ * - inside a read-write transaction the cache is bypassed, since a load
+ *   there could see that transaction's own uncommitted changes
+ *
+ * Replica Update: a miss may be loaded from a read replica, which can be a
+ * moment behind. Every eviction is remembered for one TTL
+ * (recentlyChanged()), and WorkflowService loads those ids from the
+ * primary, so a copy from before the change is never cached again.
+ *
+ * Hit/miss/eviction counts are published to Micrometer under
+ * cache.gets / cache.evictions with tag cache=workflows.
+ */
+@Component
+public class WorkflowResponseCache {
+
+    static final String CACHE_NAME = "workflows";
+
+    private final Cache<Long, WorkflowResponse> cache;
+    private final Cache<Long, Boolean> recentlyChanged;
+
+    public WorkflowResponseCache(MeterRegistry meterRegistry,
+            @Value("${workflow.response-cache.max-size:10000}") long maxSize,
+            @Value("${workflow.response-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.recentlyChanged = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached response for this id, or null if it is not cached.
+     * Never loads.
+     */
+    public WorkflowResponse getIfPresent(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * Returns the cached response for this id, calling the loader only on a
+     * cache miss.
+     *
+     * @param loader loads the response from the database, or returns null
+     *               if the workflow does not exist
+     * @return the response, or null if the workflow does not exist
+     */
+    public WorkflowResponse get(Long id, Function<Long, WorkflowResponse> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return loader.apply(id);
+        }
+        return cache.get(id, loader);
+    }
+
+    /**
+     * True if this workflow was evicted within the last TTL, so a read
+     * replica may not have the change yet.
+     */
+    public boolean recentlyChanged(Long id) {
+        return recentlyChanged.getIfPresent(id) != null;
+    }
+
+    /**
+     * Caches a newly created workflow once the current transaction (if
+     * any) commits.
+     */
+    public void putAfterCommit(WorkflowResponse response) {
+        AfterCommit.run(() -> cache.put(response.id(), response));
+    }
+
+    /**
+     * Removes a changed workflow once the current transaction (if any)
+     * commits.
+     */
+    public void evictAfterCommit(Long id) {
+        AfterCommit.run(() -> {
+            // Marked before invalidating, so a load that misses from now on sees it
+            recentlyChanged.put(id, Boolean.TRUE);
+            cache.invalidate(id);
+        });
+    }
+
+    /**
+     * Empties the cache, and forgets which entries changed recently.
+     */
+    public void evictAll() {
+        cache.invalidateAll();
+        recentlyChanged.invalidateAll();
+    }
+}
@@ -0,0 +1,472 @@
+package com.nit.arwms.workflow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory full-text index over workflow titles and descriptions.
+ *
+ * Key Concept: Inverted index
+ * -----------------------------
+ * WHERE title LIKE '%leave%' cannot use a B-tree index, so the database
+ * reads every row. An inverted index turns the question around: for each
+ * word, it keeps the list of workflows containing it (a "posting list").
+ * A search looks up the query's words and intersects their lists, so the
+ * cost depends on how many workflows match, not on how many exist.
+ *
+ * Words are kept in a sorted map, so a prefix ("leav") is a range of
+ * neighbouring words ("leave", "leaves", ...) rather than a scan. Every
+ * query word must match (AND); each one matches as a prefix if it has at
+ * least MIN_PREFIX_LENGTH characters, otherwise only as a whole word.
+ *
+ * Ranking, per query word, takes the best of the words it matched:
+ * a title match counts twice a description match, and a whole-word match
+ * twice a prefix match. Scores are summed over the query words; ties go
+ * to the most recently indexed workflow. Only the top k are kept, in a
+ * k-sized heap.
+ *
+ * Memory: each workflow gets a dense number (its "doc") in insertion
+ * order, and posting lists are int arrays of docs (plus one byte saying
+ * title/description), so they stay sorted and compact without boxing.
+ * The current status of each doc is one byte, which makes the status
+ * filter a lookup instead of a join.
+ *
+ * The index is built from the database at start-up (keyset batches of
+ * BUILD_BATCH rows), then WorkflowService adds each created workflow and
+ * updates statuses after commit. Titles and descriptions never change.
+ * Like the other in-process state here (WorkflowStatusCounts), it assumes
+ * one application instance; rebuild() re-reads the table.
+ */
+@Component
+public class WorkflowSearchIndex {
+
+    /** Query words shorter than this only match whole words. */
+    static final int MIN_PREFIX_LENGTH = 2;
+
+    private static final int BUILD_BATCH = 10_000;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final WorkflowStatus[] STATUSES = WorkflowStatus.values();
+
+    private static final byte TITLE = 1;
+    private static final byte DESCRIPTION = 2;
+
+    /** Best matches first, at most {@code limit}; {@code total} counts every match. */
+    public record Hits(List<Long> ids, int total) {
+    }
+
+    /** What the index keeps of a workflow. */
+    private record Document(long id, String title, String description, WorkflowStatus status) {
+    }
+
+    private final WorkflowRepository workflowRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+
+    @Autowired
+    public WorkflowSearchIndex(WorkflowRepository workflowRepository) {
+        this.workflowRepository = workflowRepository;
+        rebuild();
+    }
+
+    /**
+     * An empty index not backed by the database (tests and benchmarks).
+     */
+    WorkflowSearchIndex() {
+        this.workflowRepository = null;
+    }
+
+    /**
+     * Rebuilds the index from the workflows table.
+     *
+     * Runs at start-up. Workflows created while it runs may be left out,
+     * so only call it when writes are quiet.
+     */
+    public void rebuild() {
+        Index fresh = new Index();
+        if (workflowRepository != null) {
+            long after = 0;
+            List<WorkflowRepository.SearchRow> rows;
+            do {
+                rows = workflowRepository.findSearchRowsAfter(after, Limit.of(BUILD_BATCH));
+                for (WorkflowRepository.SearchRow row : rows) {
+                    fresh.add(new Document(row.getId(), row.getTitle(), row.getDescription(), row.getStatus()));
+                    after = row.getId();
+                }
+            } while (rows.size() == BUILD_BATCH);
+        }
+        lock.writeLock().lock();
+        try {
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes new workflows once the current transaction commits.
+     */
+    public void addAfterCommit(List<Workflow> workflows) {
+        // Copy now: the entities may change before the transaction completes
+        List<Document> documents = workflows.stream()
+                .map(w -> new Document(w.getId(), w.getTitle(), w.getDescription(), w.getStatus()))
+                .toList();
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                documents.forEach(index::add);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Records a workflow's new status once the current transaction commits.
+     */
+    public void statusChangedAfterCommit(Long id, WorkflowStatus status) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                index.setStatus(id, status);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Workflows whose title or description contains every word of the
+     * query (as a prefix, see MIN_PREFIX_LENGTH), best match first.
+     *
+     * @param statuses only workflows currently in one of these statuses;
+     *                 null or empty for any status
+     * @param limit    maximum number of ids returned
+     */
+    public Hits search(String query, Set<WorkflowStatus> statuses, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+        boolean[] allowed = new boolean[STATUSES.length];
+        for (WorkflowStatus status : STATUSES) {
+            allowed[status.ordinal()] = statuses == null || statuses.isEmpty() || statuses.contains(status);
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(words, allowed, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed workflows.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.docs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lower-cased words (letters and digits) of the text, each once, in
+     * order of first appearance.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        Set<String> words = new LinkedHashSet<>();
+        for (String word : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return new ArrayList<>(words);
+    }
+
+    // ─── index data (guarded by lock) ───────────────────────────────
+
+    private static final class Index {
+
+        private final NavigableMap<String, Postings> terms = new TreeMap<>();
+        private final IdTable ids = new IdTable();
+        private long[] idByDoc = new long[1024];
+        private byte[] statusByDoc = new byte[1024];
+        private int docs;
+
+        void add(Document document) {
+            long id = document.id();
+            if (ids.get(id) >= 0) {
+                return;
+            }
+            int doc = docs++;
+            if (doc == idByDoc.length) {
+                idByDoc = Arrays.copyOf(idByDoc, doc * 2);
+                statusByDoc = Arrays.copyOf(statusByDoc, doc * 2);
+            }
+            idByDoc[doc] = id;
+            statusByDoc[doc] = (byte) document.status().ordinal();
+            ids.put(id, doc);
+
+            Map<String, Byte> fields = new LinkedHashMap<>();
+            for (String word : tokenize(document.title())) {
+                fields.merge(word, TITLE, (a, b) -> (byte) (a | b));
+            }
+            for (String word : tokenize(document.description())) {
+                fields.merge(word, DESCRIPTION, (a, b) -> (byte) (a | b));
+            }
+            // Docs only ever increase, so every posting list stays sorted
+            fields.forEach((word, field) -> terms.computeIfAbsent(word, w -> new Postings()).add(doc, field));
+        }
+
+        void setStatus(long id, WorkflowStatus status) {
+            int doc = ids.get(id);
+            if (doc >= 0) {
+                statusByDoc[doc] = (byte) status.ordinal();
+            }
+        }
+
+        Hits search(List<String> words, boolean[] allowed, int limit) {
+            // Resolve each query word to the indexed words it matches
+            List<Match> matches = new ArrayList<>(words.size());
+            for (String word : words) {
+                Match match = new Match(word, word.length() >= MIN_PREFIX_LENGTH
+                        ? terms.subMap(word, true, word + Character.MAX_VALUE, false)
+                        : (terms.containsKey(word) ? terms.subMap(word, true, word, true) : Map.of()));
+                if (match.cost == 0) {
+                    return new Hits(List.of(), 0);
+                }
+                matches.add(match);
+            }
+
+            // Rarest word first: it bounds the candidates every other word must confirm
+            matches.sort(Comparator.comparingLong(m -> m.cost));
+            Candidates candidates = gather(matches.get(0), allowed);
+            for (int i = 1; i < matches.size() && candidates.size > 0; i++) {
+                Match match = matches.get(i);
+                candidates = (long) candidates.size * match.postings.size() < match.cost
+                        ? probe(candidates, match)
+                        : intersect(candidates, gather(match, allowed));
+            }
+            return top(candidates, limit);
+        }
+
+        /** Every doc matching one query word, with its best score, sorted by doc. */
+        private Candidates gather(Match match, boolean[] allowed) {
+            long[] packed = new long[(int) match.cost];
+            int n = 0;
+            for (Map.Entry<String, Postings> term : match.postings.entrySet()) {
+                boolean exact = term.getKey().length() == match.word.length();
+                Postings postings = term.getValue();
+                for (int p = 0; p < postings.size; p++) {
+                    int doc = postings.docs[p];
+                    if (allowed[statusByDoc[doc]]) {
+                        packed[n++] = ((long) doc << 32) | Float.floatToIntBits(score(postings.fields[p], exact));
+                    }
+                }
+            }
+            if (match.postings.size() > 1) {
+                Arrays.sort(packed, 0, n);
+            }
+            Candidates result = new Candidates(n);
+            for (int i = 0; i < n; i++) {
+                int doc = (int) (packed[i] >>> 32);
+                float score = Float.intBitsToFloat((int) packed[i]);
+                if (result.size > 0 && result.docs[result.size - 1] == doc) {
+                    result.scores[result.size - 1] = Math.max(result.scores[result.size - 1], score);
+                } else {
+                    result.add(doc, score);
+                }
+            }
+            return result;
+        }
+
+        /** Keeps the candidates that also match {@code match}, by binary search in its posting lists. */
+        private Candidates probe(Candidates candidates, Match match) {
+            Candidates result = new Candidates(candidates.size);
+            for (int i = 0; i < candidates.size; i++) {
+                int doc = candidates.docs[i];
+                float best = 0;
+                for (Map.Entry<String, Postings> term : match.postings.entrySet()) {
+                    Postings postings = term.getValue();
+                    int p = Arrays.binarySearch(postings.docs, 0, postings.size, doc);
+                    if (p >= 0) {
+                        best = Math.max(best, score(postings.fields[p],
+                                term.getKey().length() == match.word.length()));
+                    }
+                }
+                if (best > 0) {
+                    result.add(doc, candidates.scores[i] + best);
+                }
+            }
+            return result;
+        }
+
+        /** Docs in both (sorted) lists, scores summed. */
+        private static Candidates intersect(Candidates a, Candidates b) {
+            Candidates result = new Candidates(Math.min(a.size, b.size));
+            int i = 0;
+            int j = 0;
+            while (i < a.size && j < b.size) {
+                if (a.docs[i] < b.docs[j]) {
+                    i++;
+                } else if (a.docs[i] > b.docs[j]) {
+                    j++;
+                } else {
+                    result.add(a.docs[i], a.scores[i++] + b.scores[j++]);
+                }
+            }
+            return result;
+        }
+
+        /** The {@code limit} best candidates: highest score, then highest (newest) doc. */
+        private Hits top(Candidates candidates, int limit) {
+            // (score, doc) packed so that comparing longs compares score first; scores are positive
+            PriorityQueue<Long> best = new PriorityQueue<>(limit + 1);
+            for (int i = 0; i < candidates.size; i++) {
+                long key = ((long) Float.floatToIntBits(candidates.scores[i]) << 32) | candidates.docs[i];
+                if (best.size() < limit) {
+                    best.add(key);
+                } else if (limit > 0 && key > best.peek()) {
+                    best.poll();
+                    best.add(key);
+                }
+            }
+            Long[] ranked = best.toArray(Long[]::new);
+            Arrays.sort(ranked, Comparator.reverseOrder());
+            List<Long> ids = new ArrayList<>(ranked.length);
+            for (Long key : ranked) {
+                ids.add(idByDoc[(int) (key & 0xFFFFFFFFL)]);
+            }
+            return new Hits(ids, candidates.size);
+        }
+
+        private static float score(byte fields, boolean exact) {
+            float score = (fields & TITLE) != 0 ? 2 : 1;
+            return exact ? score * 2 : score;
+        }
+    }
+
+    /** One query word and the indexed words it matches; cost = total posting list length. */
+    private static final class Match {
+        final String word;
+        final Map<String, Postings> postings;
+        final long cost;
+
+        Match(String word, Map<String, Postings> postings) {
+            this.word = word;
+            this.postings = postings;
+            long total = 0;
+            for (Postings p : postings.values()) {
+                total += p.size;
+            }
+            this.cost = total;
+        }
+    }
+
+    /** Docs containing one word, ascending, with where the word occurs. */
+    private static final class Postings {
+        int[] docs = new int[2];
+        byte[] fields = new byte[2];
+        int size;
+
+        void add(int doc, byte field) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            docs[size] = doc;
+            fields[size++] = field;
+        }
+    }
+
+    /** Matching docs (ascending) and their scores so far. */
+    private static final class Candidates {
+        final int[] docs;
+        final float[] scores;
+        int size;
+
+        Candidates(int capacity) {
+            docs = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        void add(int doc, float score) {
+            docs[size] = doc;
+            scores[size++] = score;
+        }
+    }
+
+    /**
+     * Workflow id → doc, open addressing over primitive arrays (a
+     * HashMap<Long, Integer> would cost about 60 bytes per workflow).
+     * Ids are positive, so 0 marks an empty slot.
+     */
+    private static final class IdTable {
+        private long[] keys = new long[2048];
+        private int[] values = new int[2048];
+        private int size;
+
+        int get(long id) {
+            int mask = keys.length - 1;
+            for (int slot = hash(id) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == id) {
+                    return values[slot];
+                }
+            }
+            return -1;
+        }
+
+        void put(long id, int doc) {
+            if (size * 2 >= keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int slot = hash(id) & mask;
+            while (keys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = id;
+            values[slot] = doc;
+            size++;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int hash(long id) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
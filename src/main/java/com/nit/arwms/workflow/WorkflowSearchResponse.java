@@ -0,0 +1,15 @@
+package com.nit.arwms.workflow;
+
+import java.util.List;
+
+/**
+ * DTO for GET /api/workflows/search.
+ *
+ * items are the best matches, best first, at most "limit" of them. total
+ * is how many workflows matched in all, so a client can tell the user
+ * to refine the query when it is much larger than items.
+ */
+public record WorkflowSearchResponse(
+        List<WorkflowResponse> items,
+        int total) {
+}
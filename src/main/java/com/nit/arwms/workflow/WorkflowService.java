@@ -1,61 +1,403 @@
 package com.nit.arwms.workflow;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.nit.arwms.auth.Role;
+import com.nit.arwms.exception.ConcurrentTransitionException;
 import com.nit.arwms.exception.InvalidTransitionException;
 import com.nit.arwms.exception.WorkflowNotFoundException;
+import com.nit.arwms.system.ReplicaRoutingDataSource;
+import com.nit.arwms.workflow.WorkflowBatchRepository.StatusChange;
+import com.nit.arwms.workflow.WorkflowMetrics.Operation;
 
 /**
  * Service layer for Workflow business logic.
  *
  * Phase 7 Update: Added transitionWorkflow() method implementing
  * the state machine with role-based authorization.
+ *
+ * Workflow Types Update: transition rules come from the workflow's
+ * configured type (WorkflowEngine) instead of being fixed in
+ * WorkflowStatus.
+ *
+ * Caching Update: findById() reads through WorkflowResponseCache; creates
+ * and transitions update it after commit.
+ *
+ * ETag Update: every create/transition also bumps WorkflowCollectionVersion,
+ * and findVersion() answers conditional GETs without loading the entity.
+ *
+ * Events Update: creates and transitions are published to SSE subscribers
+ * (WorkflowEventBroadcaster) after commit.
+ *
+ * Change Feed Update: every create and transition stamps the workflow with
+ * a change sequence number (WorkflowChangeSequence), and getChanges()
+ * pages through workflows changed since a cursor. Single creates and
+ * transitions are now @Transactional so the number is held until commit.
+ *
+ * Metrics Update: every public method is timed, and transitions are
+ * counted per edge and per rejection reason (see WorkflowMetrics).
+ *
+ * Status Summary Update: creates and transitions adjust per-status counts
+ * after commit (WorkflowStatusCounts), so getStatusSummary() never counts
+ * rows.
+ *
+ * Search Update: search() answers full-text queries from an in-memory
+ * inverted index (WorkflowSearchIndex), updated after commit by creates
+ * and transitions, and loads only the top matches.
+ *
+ * Replica Update: read-only methods may be served by a read replica (see
+ * ReplicaRoutingDataSource). findById() loads a recently changed workflow
+ * from the primary, so the cache is never refilled from a lagging
+ * replica; getChanges() always reads the primary.
  */
 @Service
 public class WorkflowService {
 
+    /** Page size used when the client does not ask for one. */
+    static final int DEFAULT_PAGE_SIZE = 20;
+
+    /** Upper bound on page size, so one request can never load the whole table. */
+    static final int MAX_PAGE_SIZE = 100;
+
+    /** Newest first; id breaks ties so the order is total (required for keyset paging). */
+    private static final Sort PAGE_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
+    /** Change feed page size when the client does not ask for one. */
+    static final int DEFAULT_CHANGES_PAGE_SIZE = 100;
+
+    /** Upper bound on change feed page size. */
+    static final int MAX_CHANGES_PAGE_SIZE = 1000;
+
+    /** Search results when the client does not ask for a limit. */
+    static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    /** Upper bound on search results per request. */
+    static final int MAX_SEARCH_LIMIT = 100;
+
     private final WorkflowRepository workflowRepository;
+    private final WorkflowTransitionRepository transitionRepository;
+    private final TransitionHistoryWriter historyWriter;
+    private final WorkflowEngine engine;
+    private final WorkflowResponseCache responseCache;
+    private final WorkflowCollectionVersion collectionVersion;
+    private final WorkflowEventBroadcaster events;
+    private final WorkflowChangeSequence changeSequence;
+    private final WorkflowMetrics metrics;
+    private final WorkflowStatusCounts statusCounts;
+    private final WorkflowSearchIndex searchIndex;
 
-    public WorkflowService(WorkflowRepository workflowRepository) {
+    public WorkflowService(WorkflowRepository workflowRepository,
+            WorkflowTransitionRepository transitionRepository,
+            TransitionHistoryWriter historyWriter,
+            WorkflowEngine engine,
+            WorkflowResponseCache responseCache,
+            WorkflowCollectionVersion collectionVersion,
+            WorkflowEventBroadcaster events,
+            WorkflowChangeSequence changeSequence,
+            WorkflowMetrics metrics,
+            WorkflowStatusCounts statusCounts,
+            WorkflowSearchIndex searchIndex) {
         this.workflowRepository = workflowRepository;
+        this.transitionRepository = transitionRepository;
+        this.historyWriter = historyWriter;
+        this.engine = engine;
+        this.responseCache = responseCache;
+        this.collectionVersion = collectionVersion;
+        this.events = events;
+        this.changeSequence = changeSequence;
+        this.metrics = metrics;
+        this.statusCounts = statusCounts;
+        this.searchIndex = searchIndex;
     }
 
     /**
-     * Retrieves all workflows and converts them to response DTOs.
+     * Retrieves one page of workflows matching the filter, newest first.
+     *
+     * One extra row is fetched beyond the page size: if it exists there is
+     * a next page, and the cursor points at the last row actually returned.
+     * This avoids a separate COUNT(*) query.
+     *
+     * @param filter optional status / created-at filters
+     * @param cursor token from a previous page's nextCursor, or null for the
+     *               first page
+     * @param size   requested page size, clamped to [1, MAX_PAGE_SIZE]
+     * @throws com.nit.arwms.exception.InvalidCursorException if the cursor is
+     *                                                         malformed
      */
-    public List<WorkflowResponse> getAllWorkflows() {
-        return workflowRepository.findAll().stream()
-                .map(WorkflowResponse::fromEntity)
-                .toList();
+    public WorkflowPage getAllWorkflows(WorkflowFilter filter, String cursor, Integer size) {
+        long start = System.nanoTime();
+        try {
+            int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+            Specification<Workflow> spec = WorkflowSpecifications.matching(filter);
+            if (cursor != null && !cursor.isBlank()) {
+                spec = spec.and(WorkflowSpecifications.after(WorkflowCursor.decode(cursor)));
+            }
+
+            List<Workflow> rows = workflowRepository.findBy(spec,
+                    query -> query.sortBy(PAGE_ORDER).limit(pageSize + 1).all());
+
+            boolean hasMore = rows.size() > pageSize;
+            List<Workflow> page = hasMore ? rows.subList(0, pageSize) : rows;
+            String nextCursor = hasMore ? WorkflowCursor.of(page.get(pageSize - 1)).encode() : null;
+
+            return new WorkflowPage(page.stream().map(WorkflowResponse::fromEntity).toList(), nextCursor);
+        } finally {
+            metrics.record(Operation.LIST, start);
+        }
+    }
+
+    /**
+     * Returns the workflows created or transitioned after the cursor,
+     * oldest change first.
+     *
+     * Reads only up to WorkflowChangeSequence.stableUpTo(), so a change
+     * still being committed is never skipped: it shows up on a later call,
+     * after the returned cursor.
+     *
+     * Always reads the primary: stableUpTo() describes the primary, and a
+     * lagging replica could be missing a change below it, which the
+     * returned cursor would then skip for good.
+     *
+     * @param cursor nextCursor from a previous call, or null to start from
+     *               the beginning (every workflow)
+     * @param size   requested page size, clamped to [1, MAX_CHANGES_PAGE_SIZE]
+     * @throws com.nit.arwms.exception.InvalidCursorException if the cursor is
+     *                                                         malformed
+     */
+    @Transactional(readOnly = true)
+    public WorkflowChangePage getChanges(String cursor, Integer size) {
+        long start = System.nanoTime();
+        try {
+            // Before the first query: that is when the connection is chosen
+            ReplicaRoutingDataSource.usePrimaryForThisRequest();
+            int pageSize = size == null
+                    ? DEFAULT_CHANGES_PAGE_SIZE
+                    : Math.max(1, Math.min(size, MAX_CHANGES_PAGE_SIZE));
+            WorkflowChangeCursor after = cursor == null || cursor.isBlank()
+                    ? WorkflowChangeCursor.START
+                    : WorkflowChangeCursor.decode(cursor);
+
+            List<Workflow> rows = workflowRepository.findChangedBetween(after.changeSeq(),
+                    changeSequence.stableUpTo(), Limit.of(pageSize + 1));
+
+            boolean hasMore = rows.size() > pageSize;
+            List<Workflow> page = hasMore ? rows.subList(0, pageSize) : rows;
+            WorkflowChangeCursor next = page.isEmpty()
+                    ? after
+                    : new WorkflowChangeCursor(page.get(page.size() - 1).getChangeSeq());
+
+            return new WorkflowChangePage(page.stream().map(WorkflowResponse::fromEntity).toList(),
+                    next.encode(), hasMore);
+        } finally {
+            metrics.record(Operation.CHANGES, start);
+        }
+    }
+
+    /**
+     * Number of workflows in each status, from WorkflowStatusCounts —
+     * no query, whatever the size of the table.
+     */
+    public WorkflowStatusSummary getStatusSummary() {
+        long start = System.nanoTime();
+        try {
+            return WorkflowStatusSummary.of(statusCounts.snapshot());
+        } finally {
+            metrics.record(Operation.SUMMARY, start);
+        }
     }
 
     /**
-     * Finds a workflow by ID.
+     * Full-text search over titles and descriptions, best match first.
+     *
+     * The ranking comes from WorkflowSearchIndex without touching the
+     * database; then only the top matches are loaded, with one
+     * SELECT ... WHERE id IN (...). A match whose status changed after the
+     * index ranked it is left out if it no longer passes the filter.
+     *
+     * @param query    words to find; each matches as a prefix (e.g. "leav"
+     *                 finds "leave")
+     * @param statuses optional status filter (any of them)
+     * @param limit    requested number of results, clamped to
+     *                 [1, MAX_SEARCH_LIMIT]
+     */
+    @Transactional(readOnly = true)
+    public WorkflowSearchResponse search(String query, Set<WorkflowStatus> statuses, Integer limit) {
+        long start = System.nanoTime();
+        try {
+            int max = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+            WorkflowSearchIndex.Hits hits = searchIndex.search(query, statuses, max);
+            if (hits.ids().isEmpty()) {
+                return new WorkflowSearchResponse(List.of(), hits.total());
+            }
+
+            Map<Long, Workflow> loaded = workflowRepository.findAllById(hits.ids()).stream()
+                    .collect(Collectors.toMap(Workflow::getId, Function.identity()));
+            List<WorkflowResponse> items = hits.ids().stream()
+                    .map(loaded::get)
+                    .filter(workflow -> workflow != null
+                            && (statuses == null || statuses.isEmpty() || statuses.contains(workflow.getStatus())))
+                    .map(WorkflowResponse::fromEntity)
+                    .toList();
+            return new WorkflowSearchResponse(items, hits.total());
+        } finally {
+            metrics.record(Operation.SEARCH, start);
+        }
+    }
+
+    /**
+     * Version of all workflow listings; changes after every create or
+     * transition. See WorkflowCollectionVersion.
+     */
+    public String getCollectionVersion() {
+        return collectionVersion.current();
+    }
+
+    /**
+     * Returns just the version of a workflow: from the response cache if
+     * present, otherwise with a version-only query (no entity loaded) on
+     * the primary (it runs outside a read-only transaction), since it
+     * decides whether to answer 304.
+     *
+     * @throws WorkflowNotFoundException if no workflow exists with the given ID
+     */
+    public Long findVersion(Long id) {
+        long start = System.nanoTime();
+        try {
+            WorkflowResponse cached = responseCache.getIfPresent(id);
+            if (cached != null) {
+                return cached.version();
+            }
+            return workflowRepository.findVersionById(id)
+                    .orElseThrow(() -> new WorkflowNotFoundException(id));
+        } finally {
+            metrics.record(Operation.FIND_VERSION, start);
+        }
+    }
+
+    /**
+     * Finds a workflow by ID, from WorkflowResponseCache when possible.
+     *
+     * A cache miss is loaded from the read replica, if there is one, except
+     * for a workflow changed within the cache TTL (see
+     * WorkflowResponseCache.recentlyChanged()) or one the replica does not
+     * have yet: those come from the primary. A copy from a lagging replica
+     * would otherwise be cached and served for the whole TTL.
      *
      * @throws WorkflowNotFoundException if no workflow exists with the given ID
      */
     public WorkflowResponse findById(Long id) {
-        Workflow workflow = workflowRepository.findById(id)
-                .orElseThrow(() -> new WorkflowNotFoundException(id));
-        return WorkflowResponse.fromEntity(workflow);
+        long start = System.nanoTime();
+        try {
+            WorkflowResponse response = responseCache.get(id, key -> {
+                WorkflowResponse loaded = responseCache.recentlyChanged(key) ? null : load(key);
+                if (loaded == null) {
+                    ReplicaRoutingDataSource.usePrimaryForThisRequest();
+                    loaded = load(key);
+                }
+                return loaded;
+            });
+            if (response == null) {
+                throw new WorkflowNotFoundException(id);
+            }
+            return response;
+        } finally {
+            metrics.record(Operation.FIND_BY_ID, start);
+        }
+    }
+
+    /** Reads one workflow, or null if it does not exist. */
+    private WorkflowResponse load(Long id) {
+        return workflowRepository.findById(id)
+                .map(WorkflowResponse::fromEntity)
+                .orElse(null);
     }
 
     /**
      * Creates a new workflow from a request DTO.
-     * New workflows always start in DRAFT status.
+     * New workflows start in their type's initial status.
+     *
+     * @throws com.nit.arwms.exception.UnknownWorkflowTypeException if the
+     *                                                              type is
+     *                                                              not
+     *                                                              configured
      */
+    @Transactional
     public WorkflowResponse createWorkflow(WorkflowRequest request) {
+        long start = System.nanoTime();
+        try {
+            Workflow draft = newDraft(request, LocalDateTime.now());
+            draft.setChangeSeq(changeSequence.next());
+            Workflow saved = workflowRepository.save(draft);
+            WorkflowResponse response = WorkflowResponse.fromEntity(saved);
+            responseCache.putAfterCommit(response);
+            collectionVersion.bumpAfterCommit();
+            statusCounts.createdAfterCommit(saved.getStatus(), 1);
+            searchIndex.addAfterCommit(List.of(saved));
+            events.publishAfterCommit(WorkflowEvent.created(saved));
+            return response;
+        } finally {
+            metrics.record(Operation.CREATE, start);
+        }
+    }
+
+    /**
+     * Creates many workflows in one transaction.
+     *
+     * Ids come from a pooled sequence, so Hibernate can send the INSERTs
+     * in JDBC batches (hibernate.jdbc.batch_size) instead of one round trip
+     * per workflow. All items share one createdAt timestamp.
+     */
+    @Transactional
+    public List<WorkflowResponse> createWorkflows(List<WorkflowRequest> requests) {
+        long start = System.nanoTime();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Workflow> workflows = requests.stream()
+                    .map(request -> newDraft(request, now))
+                    .toList();
+            long changeSeq = changeSequence.reserve(workflows.size());
+            for (Workflow workflow : workflows) {
+                workflow.setChangeSeq(changeSeq++);
+            }
+            List<Workflow> saved = workflowRepository.saveAll(workflows);
+            List<WorkflowResponse> responses = saved.stream()
+                    .map(WorkflowResponse::fromEntity)
+                    .toList();
+            responses.forEach(responseCache::putAfterCommit);
+            collectionVersion.bumpAfterCommit();
+            saved.stream()
+                    .collect(Collectors.groupingBy(Workflow::getStatus, Collectors.counting()))
+                    .forEach(statusCounts::createdAfterCommit);
+            searchIndex.addAfterCommit(saved);
+            saved.forEach(workflow -> events.publishAfterCommit(WorkflowEvent.created(workflow)));
+            return responses;
+        } finally {
+            metrics.record(Operation.CREATE_BULK, start);
+        }
+    }
+
+    private Workflow newDraft(WorkflowRequest request, LocalDateTime createdAt) {
+        WorkflowDefinition definition = engine.definition(request.getType());
         Workflow workflow = new Workflow();
         workflow.setTitle(request.getTitle());
         workflow.setDescription(request.getDescription());
-        workflow.setStatus(WorkflowStatus.DRAFT);
-        workflow.setCreatedAt(LocalDateTime.now());
-
-        Workflow saved = workflowRepository.save(workflow);
-        return WorkflowResponse.fromEntity(saved);
+        workflow.setType(definition.getType());
+        workflow.setStatus(definition.getInitialStatus());
+        workflow.setCreatedAt(createdAt);
+        return workflow;
     }
 
     /**
@@ -63,38 +405,258 @@ public class WorkflowService {
      *
      * Validates:
      * 1. The workflow exists
-     * 2. The transition is valid (checked against enum state machine)
+     * 2. The transition is valid (checked against the workflow type's
+     *    compiled state machine)
      * 3. The role is authorized for this transition
      *
-     * @throws WorkflowNotFoundException  if workflow doesn't exist
-     * @throws InvalidTransitionException if transition is invalid or role is
-     *                                    unauthorized
+     * Key Concept: Compare-and-Set
+     * ------------------------------
+     * All three checks are made by the write itself. WorkflowEngine knows
+     * every status the target can be reached from with this role (in one
+     * type or another), so the transition is a conditional UPDATE
+     * "WHERE id = ? AND status = <source> AND type IN (...)" — one
+     * statement when, as in every shipped type, the target has a single
+     * source for the role. Nothing is read first, so there is no window in
+     * which another request can change the workflow between a check and
+     * the write: of two approvers deciding at once, exactly one UPDATE
+     * matches.
+     *
+     * Only afterwards is the row read: to build the response (our UPDATE
+     * still holds its row lock, so it is exactly what we wrote), or, if no
+     * row matched, to tell the client why: not found, an invalid
+     * transition or wrong role for the status it is in now, or a status
+     * that does allow the transition, i.e. it was changed in the meantime
+     * (ConcurrentTransitionException).
+     *
+     * @throws WorkflowNotFoundException      if workflow doesn't exist
+     * @throws InvalidTransitionException     if transition is invalid or role
+     *                                        is unauthorized
+     * @throws ConcurrentTransitionException if the workflow changed status
+     *                                        while this request was running
      */
+    @Transactional
     public WorkflowResponse transitionWorkflow(Long id, WorkflowTransitionRequest request) {
-        Workflow workflow = workflowRepository.findById(id)
-                .orElseThrow(() -> new WorkflowNotFoundException(id));
+        long start = System.nanoTime();
+        try {
+            WorkflowStatus targetStatus = request.getTargetStatus();
+
+            WorkflowStatus fromStatus = null;
+            long changeSeq = changeSequence.next();
+            for (WorkflowEngine.TransitionSource source : engine.sources(targetStatus, actingRole(request.getRole()))) {
+                if (workflowRepository.compareAndSetStatus(id, source.status(), source.types(),
+                        targetStatus, changeSeq) > 0) {
+                    fromStatus = source.status();
+                    break;
+                }
+            }
+
+            Workflow workflow = workflowRepository.findById(id).orElse(null);
+            if (fromStatus == null) {
+                throw rejection(id, workflow, targetStatus, request.getRole());
+            }
+
+            metrics.transitioned(workflow.getType(), fromStatus, targetStatus);
+            responseCache.evictAfterCommit(id);
+            collectionVersion.bumpAfterCommit();
+            statusCounts.transitionedAfterCommit(fromStatus, targetStatus);
+            searchIndex.statusChangedAfterCommit(id, targetStatus);
+            recordHistory(id, fromStatus, targetStatus, actingRole(request.getRole()), request.getActor());
+            events.publishAfterCommit(WorkflowEvent.transitioned(id, workflow.getType(),
+                    fromStatus, targetStatus, request.getActor()));
+
+            return WorkflowResponse.fromEntity(workflow);
+        } finally {
+            metrics.record(Operation.TRANSITION, start);
+        }
+    }
+
+    /**
+     * Why a transition UPDATE matched no row, judged from the workflow as
+     * it is now, counted in the rejection metrics.
+     */
+    private RuntimeException rejection(Long id, Workflow workflow, WorkflowStatus target, String role) {
+        if (workflow == null) {
+            metrics.rejected(TransitionOutcome.NOT_FOUND);
+            return new WorkflowNotFoundException(id);
+        }
+        WorkflowDefinition definition = engine.definition(workflow.getType());
+        WorkflowStatus current = workflow.getStatus();
+        TransitionOutcome check = checkTransition(definition, current, target, role);
+        if (check == TransitionOutcome.INVALID_TRANSITION) {
+            metrics.rejected(check);
+            return new InvalidTransitionException(invalidTransitionMessage(definition, current, target));
+        }
+        if (check == TransitionOutcome.WRONG_ROLE) {
+            metrics.rejected(check);
+            return new InvalidTransitionException(wrongRoleMessage(definition, current, target, role));
+        }
+        // Allowed from where it is now, so it got there after our UPDATE
+        metrics.rejected(TransitionOutcome.CONFLICT);
+        return new ConcurrentTransitionException(id);
+    }
+
+    /**
+     * Transitions many workflows in one transaction.
+     *
+     * 1. Loads all requested workflows with one SELECT ... WHERE id IN (...)
+     * 2. Validates each item against the status it read
+     * 3. Applies all accepted items as one JDBC batch of compare-and-set
+     *    UPDATEs on the version read in step 1 — one round trip instead of
+     *    one per workflow
+     *
+     * Items never fail the whole request: each gets its own outcome. An item
+     * whose workflow changed between steps 1 and 3 (including a duplicate
+     * id later in the same batch) is reported as CONFLICT.
+     */
+    @Transactional
+    public BulkTransitionResponse transitionWorkflows(BulkTransitionRequest request) {
+        long start = System.nanoTime();
+        try {
+            List<BulkTransitionRequest.Item> items = request.getItems();
+            String role = request.getRole();
+
+            Map<Long, Workflow> workflows = workflowRepository
+                    .findAllById(items.stream().map(BulkTransitionRequest.Item::id).distinct().toList())
+                    .stream()
+                    .collect(Collectors.toMap(Workflow::getId, Function.identity()));
+
+            BulkTransitionResponse.Result[] results = new BulkTransitionResponse.Result[items.size()];
+            List<StatusChange> changes = new ArrayList<>();
+            List<Integer> changeIndexes = new ArrayList<>();
 
-        WorkflowStatus currentStatus = workflow.getStatus();
-        WorkflowStatus targetStatus = request.getTargetStatus();
+            for (int i = 0; i < items.size(); i++) {
+                BulkTransitionRequest.Item item = items.get(i);
+                Workflow workflow = workflows.get(item.id());
+                if (workflow == null) {
+                    metrics.rejected(TransitionOutcome.NOT_FOUND);
+                    results[i] = new BulkTransitionResponse.Result(item.id(), TransitionOutcome.NOT_FOUND, null,
+                            new WorkflowNotFoundException(item.id()).getMessage());
+                    continue;
+                }
 
-        // Validate the transition is allowed
-        if (!currentStatus.canTransitionTo(targetStatus)) {
-            throw new InvalidTransitionException(
-                    "Cannot transition from " + currentStatus + " to " + targetStatus
-                            + ". Allowed transitions: " + currentStatus.allowedTransitions());
+                WorkflowDefinition definition = engine.definition(workflow.getType());
+                WorkflowStatus current = workflow.getStatus();
+                WorkflowStatus target = item.targetStatus();
+                TransitionOutcome check = checkTransition(definition, current, target, role);
+                metrics.rejected(check);
+                if (check == TransitionOutcome.INVALID_TRANSITION) {
+                    results[i] = new BulkTransitionResponse.Result(item.id(), check,
+                            current.name(), invalidTransitionMessage(definition, current, target));
+                } else if (check == TransitionOutcome.WRONG_ROLE) {
+                    results[i] = new BulkTransitionResponse.Result(item.id(), check,
+                            current.name(), wrongRoleMessage(definition, current, target, role));
+                } else {
+                    changes.add(new StatusChange(item.id(), current, workflow.getVersion(), target));
+                    changeIndexes.add(i);
+                }
+            }
+
+            if (!changes.isEmpty()) {
+                long firstChangeSeq = changeSequence.reserve(changes.size());
+                int[] counts = workflowRepository.compareAndSetStatuses(changes, firstChangeSeq);
+                boolean applied = false;
+                for (int c = 0; c < changes.size(); c++) {
+                    StatusChange change = changes.get(c);
+                    if (counts[c] > 0) {
+                        applied = true;
+                        results[changeIndexes.get(c)] = new BulkTransitionResponse.Result(change.id(),
+                                TransitionOutcome.SUCCESS, change.target().name(), null);
+                        responseCache.evictAfterCommit(change.id());
+                        String type = workflows.get(change.id()).getType();
+                        metrics.transitioned(type, change.expected(), change.target());
+                        statusCounts.transitionedAfterCommit(change.expected(), change.target());
+                        searchIndex.statusChangedAfterCommit(change.id(), change.target());
+                        recordHistory(change.id(), change.expected(), change.target(),
+                                actingRole(role), request.getActor());
+                        events.publishAfterCommit(WorkflowEvent.transitioned(change.id(), type,
+                                change.expected(), change.target(), request.getActor()));
+                    } else {
+                        metrics.rejected(TransitionOutcome.CONFLICT);
+                        results[changeIndexes.get(c)] = new BulkTransitionResponse.Result(change.id(),
+                                TransitionOutcome.CONFLICT, null,
+                                new ConcurrentTransitionException(change.id(), change.expected()).getMessage());
+                    }
+                }
+                if (applied) {
+                    collectionVersion.bumpAfterCommit();
+                }
+            }
+
+            return BulkTransitionResponse.of(List.of(results));
+        } finally {
+            metrics.record(Operation.TRANSITION_BULK, start);
         }
+    }
 
-        // Validate the role is authorized
-        String requiredRole = currentStatus.requiredRoleFor(targetStatus);
-        if (requiredRole != null && !requiredRole.equalsIgnoreCase(request.getRole())) {
-            throw new InvalidTransitionException(
-                    "Role '" + request.getRole() + "' is not authorized for this transition. "
-                            + "Required role: " + requiredRole);
+    /**
+     * Returns the transition history of a workflow, oldest first.
+     *
+     * History is written in the background (see TransitionHistoryWriter),
+     * so a transition made a few milliseconds ago may not be listed yet.
+     *
+     * @throws WorkflowNotFoundException if no workflow exists with the given ID
+     */
+    public List<WorkflowTransitionResponse> getTransitionHistory(Long id) {
+        long start = System.nanoTime();
+        try {
+            if (!workflowRepository.existsById(id)) {
+                throw new WorkflowNotFoundException(id);
+            }
+            return transitionRepository.findByWorkflowIdOrderByTransitionedAtAscIdAsc(id).stream()
+                    .map(WorkflowTransitionResponse::fromEntity)
+                    .toList();
+        } finally {
+            metrics.record(Operation.HISTORY, start);
         }
+    }
+
+    /**
+     * Hands a successful transition to the background history writer.
+     * Off the hot path: this only enqueues.
+     */
+    private void recordHistory(Long id, WorkflowStatus from, WorkflowStatus to, Role role, String actor) {
+        historyWriter.record(new WorkflowTransition(id, from, to, actor, role, LocalDateTime.now()));
+    }
+
+    /**
+     * The role the actor acted in (the authenticated user's role, set by
+     * the controller), as stored in history; null if it is not a known role.
+     */
+    private static Role actingRole(String role) {
+        for (Role candidate : Role.values()) {
+            if (candidate.name().equalsIgnoreCase(role)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks a transition against the state machine and role rules.
+     *
+     * @return SUCCESS if allowed, otherwise INVALID_TRANSITION or WRONG_ROLE
+     */
+    private static TransitionOutcome checkTransition(WorkflowDefinition definition,
+            WorkflowStatus current, WorkflowStatus target, String role) {
+        if (!definition.canTransition(current, target)) {
+            return TransitionOutcome.INVALID_TRANSITION;
+        }
+        Role requiredRole = definition.requiredRole(current, target);
+        if (requiredRole != null && !requiredRole.name().equalsIgnoreCase(role)) {
+            return TransitionOutcome.WRONG_ROLE;
+        }
+        return TransitionOutcome.SUCCESS;
+    }
+
+    private static String invalidTransitionMessage(WorkflowDefinition definition,
+            WorkflowStatus current, WorkflowStatus target) {
+        return "Cannot transition from " + current + " to " + target
+                + ". Allowed transitions: " + definition.allowedTransitions(current);
+    }
 
-        // Perform the transition
-        workflow.setStatus(targetStatus);
-        Workflow saved = workflowRepository.save(workflow);
-        return WorkflowResponse.fromEntity(saved);
+    private static String wrongRoleMessage(WorkflowDefinition definition,
+            WorkflowStatus current, WorkflowStatus target, String role) {
+        return "Role '" + role + "' is not authorized for this transition. "
+                + "Required role: " + definition.requiredRole(current, target);
     }
 }
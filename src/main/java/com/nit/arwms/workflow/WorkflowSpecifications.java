@@ -0,0 +1,48 @@
+package com.nit.arwms.workflow;
+
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Reusable query predicates for Workflow.
+ *
+ * Key Concept: Specifications
+ * ----------------------------
+ * A Specification is one piece of a WHERE clause. They can be combined
+ * with and()/or(), so only the filters the client actually sent end up
+ * in the SQL — no "(:status IS NULL OR status = :status)" tricks that
+ * keep the database from using an index.
+ */
+final class WorkflowSpecifications {
+
+    private WorkflowSpecifications() {
+    }
+
+    /**
+     * Combines all non-null filter fields into a single specification.
+     */
+    static Specification<Workflow> matching(WorkflowFilter filter) {
+        Specification<Workflow> spec = Specification.unrestricted();
+        if (filter.status() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), filter.status()));
+        }
+        if (filter.from() != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), filter.from()));
+        }
+        if (filter.to() != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThan(root.get("createdAt"), filter.to()));
+        }
+        return spec;
+    }
+
+    /**
+     * Rows that come strictly after the cursor in (createdAt DESC, id DESC)
+     * order.
+     */
+    static Specification<Workflow> after(WorkflowCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                cb.and(
+                        cb.equal(root.get("createdAt"), cursor.createdAt()),
+                        cb.lessThan(root.get("id"), cursor.id())));
+    }
+}
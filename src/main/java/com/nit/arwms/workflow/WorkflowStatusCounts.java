@@ -0,0 +1,100 @@
+package com.nit.arwms.workflow;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Number of workflows in each WorkflowStatus, kept up to date by every
+ * create and transition instead of being counted on demand.
+ *
+ * Key Concept: Incrementally maintained aggregates
+ * --------------------------------------------------
+ * Counting on demand (SELECT status, COUNT(*) ... GROUP BY status) reads
+ * every row, so a dashboard polling it gets slower as the table grows.
+ * Here the table is counted once, at start-up, and after that each write
+ * adjusts the counts: +1 on create, -1 / +1 on a transition. Reading the
+ * counts is one sum per status, however many workflows there are.
+ *
+ * The adjustments are registered inside the write's transaction and
+ * applied only when it commits (see AfterCommit), so a rolled-back
+ * create or a transition that lost its compare-and-set never counts.
+ * Each status is a LongAdder, which spreads concurrent increments over
+ * several cells instead of making every writer contend on one value.
+ *
+ * A transition moves its two counts one after the other, so a reader
+ * can briefly see the total off by one; each count on its own is never
+ * wrong for longer than that.
+ *
+ * Like WorkflowCollectionVersion and WorkflowChangeSequence, this assumes
+ * one application instance that makes every write. Writes that bypass
+ * WorkflowService (SQL by hand, another instance) are only picked up by
+ * reconcile().
+ */
+@Component
+public class WorkflowStatusCounts {
+
+    private static final WorkflowStatus[] STATUSES = WorkflowStatus.values();
+
+    private final WorkflowRepository workflowRepository;
+    private final LongAdder[] counts = new LongAdder[STATUSES.length];
+
+    public WorkflowStatusCounts(WorkflowRepository workflowRepository) {
+        this.workflowRepository = workflowRepository;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+        reconcile();
+    }
+
+    /**
+     * Recounts every status from the database (one GROUP BY query).
+     *
+     * Runs at start-up. Calling it while writes are committing can count
+     * such a write twice or not at all, so only call it when writes are
+     * quiet.
+     */
+    public synchronized void reconcile() {
+        long[] fresh = new long[STATUSES.length];
+        for (WorkflowRepository.StatusCount row : workflowRepository.countGroupedByStatus()) {
+            fresh[row.getStatus().ordinal()] = row.getCount();
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i].reset();
+            counts[i].add(fresh[i]);
+        }
+    }
+
+    /**
+     * Counts {@code count} new workflows in {@code status} once the current
+     * transaction commits.
+     */
+    public void createdAfterCommit(WorkflowStatus status, long count) {
+        AfterCommit.run(() -> counts[status.ordinal()].add(count));
+    }
+
+    /**
+     * Moves one workflow from {@code from} to {@code to} once the current
+     * transaction commits.
+     */
+    public void transitionedAfterCommit(WorkflowStatus from, WorkflowStatus to) {
+        AfterCommit.run(() -> {
+            counts[to.ordinal()].increment();
+            counts[from.ordinal()].decrement();
+        });
+    }
+
+    /**
+     * Current count for every status (zero included), in declaration order.
+     */
+    public Map<WorkflowStatus, Long> snapshot() {
+        Map<WorkflowStatus, Long> snapshot = new EnumMap<>(WorkflowStatus.class);
+        for (WorkflowStatus status : STATUSES) {
+            // Never negative, even while a create and a transition of the same row commit out of order
+            snapshot.put(status, Math.max(0, counts[status.ordinal()].sum()));
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,20 @@
+package com.nit.arwms.workflow;
+
+import java.util.Map;
+
+/**
+ * DTO for GET /api/workflows/summary: how many workflows are in each
+ * status, and in total.
+ *
+ * counts has an entry for every WorkflowStatus, zero included, so a
+ * dashboard can render a fixed set of columns.
+ */
+public record WorkflowStatusSummary(
+        Map<WorkflowStatus, Long> counts,
+        long total) {
+
+    public static WorkflowStatusSummary of(Map<WorkflowStatus, Long> counts) {
+        return new WorkflowStatusSummary(counts,
+                counts.values().stream().mapToLong(Long::longValue).sum());
+    }
+}
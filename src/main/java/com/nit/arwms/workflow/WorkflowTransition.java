@@ -0,0 +1,103 @@
+package com.nit.arwms.workflow;
+
+import java.time.LocalDateTime;
+
+import com.nit.arwms.auth.Role;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * JPA Entity recording one status change of a workflow: who moved it,
+ * from where to where, and when.
+ *
+ * Key Concept: Append-only history
+ * ----------------------------------
+ * Workflow.status only holds the CURRENT state. Each successful transition
+ * also appends one row here; rows are never updated or deleted, so the
+ * table is a complete audit trail.
+ *
+ * Rows are written in the background by TransitionHistoryWriter, so they
+ * can appear a moment after the transition itself returns.
+ */
+@Entity
+@Table(name = "workflow_transitions", indexes = {
+        @Index(name = "idx_workflow_transitions_workflow_id", columnList = "workflow_id, transitioned_at")
+})
+public class WorkflowTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workflow_transitions_seq")
+    @SequenceGenerator(name = "workflow_transitions_seq", sequenceName = "workflow_transitions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "workflow_id", nullable = false)
+    private Long workflowId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", nullable = false)
+    private WorkflowStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false)
+    private WorkflowStatus toStatus;
+
+    private String actor;
+
+    @Enumerated(EnumType.STRING)
+    private Role role;
+
+    @Column(name = "transitioned_at", nullable = false)
+    private LocalDateTime transitionedAt;
+
+    // Default constructor (required by JPA)
+    public WorkflowTransition() {
+    }
+
+    public WorkflowTransition(Long workflowId, WorkflowStatus fromStatus, WorkflowStatus toStatus,
+            String actor, Role role, LocalDateTime transitionedAt) {
+        this.workflowId = workflowId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.actor = actor;
+        this.role = role;
+        this.transitionedAt = transitionedAt;
+    }
+
+    // Getters (no setters — history rows are immutable)
+    public Long getId() {
+        return id;
+    }
+
+    public Long getWorkflowId() {
+        return workflowId;
+    }
+
+    public WorkflowStatus getFromStatus() {
+        return fromStatus;
+    }
+
+    public WorkflowStatus getToStatus() {
+        return toStatus;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public LocalDateTime getTransitionedAt() {
+        return transitionedAt;
+    }
+}
@@ -0,0 +1,17 @@
+package com.nit.arwms.workflow;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repository for the append-only workflow transition history.
+ */
+public interface WorkflowTransitionRepository extends JpaRepository<WorkflowTransition, Long> {
+
+    /**
+     * Full history of one workflow, oldest first.
+     * Uses idx_workflow_transitions_workflow_id.
+     */
+    List<WorkflowTransition> findByWorkflowIdOrderByTransitionedAtAscIdAsc(Long workflowId);
+}
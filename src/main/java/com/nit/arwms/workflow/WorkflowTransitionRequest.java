@@ -1,5 +1,7 @@
 package com.nit.arwms.workflow;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -26,6 +28,13 @@ public class WorkflowTransitionRequest {
     @NotBlank(message = "Role is required")
     private String role;
 
+    /**
+     * Username of the caller, recorded in the transition history.
+     * Set by the controller from the authenticated user; never read from JSON.
+     */
+    @JsonIgnore
+    private String actor;
+
     public WorkflowTransitionRequest() {
     }
 
@@ -49,4 +58,12 @@ public class WorkflowTransitionRequest {
     public void setRole(String role) {
         this.role = role;
     }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public void setActor(String actor) {
+        this.actor = actor;
+    }
 }
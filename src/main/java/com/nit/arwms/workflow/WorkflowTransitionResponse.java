@@ -0,0 +1,23 @@
+package com.nit.arwms.workflow;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one entry of a workflow's transition history.
+ */
+public record WorkflowTransitionResponse(
+        String fromStatus,
+        String toStatus,
+        String actor,
+        String role,
+        LocalDateTime transitionedAt) {
+
+    public static WorkflowTransitionResponse fromEntity(WorkflowTransition transition) {
+        return new WorkflowTransitionResponse(
+                transition.getFromStatus().name(),
+                transition.getToStatus().name(),
+                transition.getActor(),
+                transition.getRole() != null ? transition.getRole().name() : null,
+                transition.getTransitionedAt());
+    }
+}
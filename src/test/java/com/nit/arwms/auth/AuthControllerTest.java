@@ -0,0 +1,63 @@
+package com.nit.arwms.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Login tests against the real database and password encoder.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerTest {
+
+        private static final String LOGIN = """
+                        {"username": "alice", "password": "secret123"}
+                        """;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @BeforeEach
+        void setUp() {
+                userRepository.deleteAll();
+        }
+
+        @Test
+        void login_rehashesPasswordStoredWithOutdatedCost() throws Exception {
+                userRepository.save(new User("alice", new BCryptPasswordEncoder(4).encode("secret123"), Role.REQUESTER));
+
+                mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                                .andExpect(status().isOk());
+
+                String rehashed = userRepository.findByUsername("alice").orElseThrow().getPassword();
+                assertThat(rehashed).startsWith("$2a$10$");
+
+                // The new hash still works
+                mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                                .andExpect(status().isOk());
+        }
+
+        @Test
+        void login_withWrongPassword_isRejectedWithoutRehash() throws Exception {
+                String oldHash = new BCryptPasswordEncoder(4).encode("other-password");
+                userRepository.save(new User("alice", oldHash, Role.REQUESTER));
+
+                mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+                                .andExpect(status().isUnauthorized());
+
+                assertThat(userRepository.findByUsername("alice").orElseThrow().getPassword()).isEqualTo(oldHash);
+        }
+}
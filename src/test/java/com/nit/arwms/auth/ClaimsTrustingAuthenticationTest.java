@@ -0,0 +1,59 @@
+package com.nit.arwms.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.nit.arwms.workflow.WorkflowResponse;
+import com.nit.arwms.workflow.WorkflowService;
+import com.nit.arwms.workflow.WorkflowTransitionRequest;
+
+/**
+ * Tests for security.jwt.trust-claims=true: the principal is built from
+ * the token alone, so the user does not need to exist in the database.
+ */
+@SpringBootTest(properties = "security.jwt.trust-claims=true")
+@AutoConfigureMockMvc
+class ClaimsTrustingAuthenticationTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private JwtService jwtService;
+
+        @MockitoBean
+        private WorkflowService workflowService;
+
+        @Test
+        void transitionUsesRoleFromTokenWithoutDatabaseUser() throws Exception {
+                String token = jwtService.generateToken(new User("not-in-db", "hash", Role.APPROVER));
+                when(workflowService.transitionWorkflow(eq(1L), any(WorkflowTransitionRequest.class)))
+                                .thenReturn(new WorkflowResponse(1L, "t", "d", "standard", "APPROVED", LocalDateTime.now(), 0L));
+
+                mockMvc.perform(patch("/api/workflows/1/transition")
+                                .header("Authorization", "Bearer " + token)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"targetStatus\": \"APPROVED\", \"role\": \"REQUESTER\"}"))
+                                .andExpect(status().isOk());
+
+                ArgumentCaptor<WorkflowTransitionRequest> captor = ArgumentCaptor.forClass(WorkflowTransitionRequest.class);
+                verify(workflowService).transitionWorkflow(eq(1L), captor.capture());
+                assertThat(captor.getValue().getRole()).isEqualTo("APPROVER");
+        }
+}
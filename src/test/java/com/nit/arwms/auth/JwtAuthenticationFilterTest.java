@@ -0,0 +1,61 @@
+package com.nit.arwms.auth;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * End-to-end tests of the JWT filter in its default (database-backed)
+ * mode, using real tokens instead of @WithMockUser.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class JwtAuthenticationFilterTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private JwtService jwtService;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private PrincipalCache principalCache;
+
+        @BeforeEach
+        void setUp() {
+                userRepository.deleteAll();
+                principalCache.evictAll();
+        }
+
+        @Test
+        void validTokenForExistingUser_isAuthenticated() throws Exception {
+                User alice = userRepository.save(new User("alice", "hash", Role.REQUESTER));
+                String token = jwtService.generateToken(alice);
+
+                mockMvc.perform(get("/api/workflows").header("Authorization", "Bearer " + token))
+                                .andExpect(status().isOk());
+        }
+
+        @Test
+        void validTokenForUnknownUser_isRejected() throws Exception {
+                String token = jwtService.generateToken(new User("ghost", "hash", Role.REQUESTER));
+
+                mockMvc.perform(get("/api/workflows").header("Authorization", "Bearer " + token))
+                                .andExpect(status().isForbidden());
+        }
+
+        @Test
+        void malformedToken_isRejected() throws Exception {
+                mockMvc.perform(get("/api/workflows").header("Authorization", "Bearer not.a.jwt"))
+                                .andExpect(status().isForbidden());
+        }
+}
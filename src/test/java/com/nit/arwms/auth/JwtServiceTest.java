@@ -0,0 +1,64 @@
+package com.nit.arwms.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Plain unit tests for JwtService (no Spring context needed).
+ */
+class JwtServiceTest {
+
+        private static final String SECRET = "dGhpcyBpcyBhIHZlcnkgc2VjcmV0IGtleSBmb3Igd2FtcyBhcHBsaWNhdGlvbiBkZXY=";
+
+        private final JwtService jwtService = new JwtService(SECRET, 60_000, 100);
+
+        @Test
+        void verify_returnsClaimsFromToken() {
+                String token = jwtService.generateToken(new User("alice", "hash", Role.APPROVER));
+
+                JwtClaims claims = jwtService.verify(token);
+
+                assertThat(claims.username()).isEqualTo("alice");
+                assertThat(claims.role()).isEqualTo(Role.APPROVER);
+                assertThat(claims.expiresAt()).isAfter(Instant.now());
+        }
+
+        @Test
+        void verify_returnsSameClaimsFromCache() {
+                String token = jwtService.generateToken(new User("alice", "hash", Role.APPROVER));
+
+                assertThat(jwtService.verify(token)).isSameAs(jwtService.verify(token));
+        }
+
+        @Test
+        void verify_rejectsTamperedToken() {
+                String token = jwtService.generateToken(new User("alice", "hash", Role.APPROVER));
+                String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+                assertThatThrownBy(() -> jwtService.verify(tampered)).isInstanceOf(JwtException.class);
+        }
+
+        @Test
+        void verify_rejectsExpiredToken() {
+                JwtService expiring = new JwtService(SECRET, -1_000, 100);
+                String token = expiring.generateToken(new User("alice", "hash", Role.APPROVER));
+
+                assertThatThrownBy(() -> expiring.verify(token)).isInstanceOf(ExpiredJwtException.class);
+        }
+
+        @Test
+        void verify_rejectsTokenSignedWithAnotherKey() {
+                JwtService other = new JwtService(
+                                "b3RoZXIgc2VjcmV0IGtleSB0aGF0IGlzIGxvbmcgZW5vdWdoIGZvciBoczI1Ng==", 60_000, 0);
+                String token = other.generateToken(new User("alice", "hash", Role.APPROVER));
+
+                assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(JwtException.class);
+        }
+}
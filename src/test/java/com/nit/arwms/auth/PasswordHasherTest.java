@@ -0,0 +1,74 @@
+package com.nit.arwms.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.nit.arwms.exception.PasswordHashingBusyException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Plain unit tests for PasswordHasher (no Spring context needed).
+ */
+class PasswordHasherTest {
+
+        @Test
+        void encodeAndMatches_runOnThePool() {
+                PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(4), new SimpleMeterRegistry(), 1, 1);
+
+                String hash = hasher.encode("secret123");
+
+                assertThat(hasher.matches("secret123", hash)).isTrue();
+                assertThat(hasher.matches("wrong", hash)).isFalse();
+        }
+
+        @Test
+        void needsRehash_detectsLowerCostHashes() {
+                PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(5), new SimpleMeterRegistry(), 1, 1);
+
+                assertThat(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("secret123"))).isTrue();
+                assertThat(hasher.needsRehash(new BCryptPasswordEncoder(5).encode("secret123"))).isFalse();
+        }
+
+        @Test
+        void encode_failsFastWhenPoolAndQueueAreFull() throws Exception {
+                CountDownLatch started = new CountDownLatch(1);
+                CountDownLatch release = new CountDownLatch(1);
+                PasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+                        @Override
+                        public String encode(CharSequence rawPassword) {
+                                started.countDown();
+                                try {
+                                        release.await();
+                                } catch (InterruptedException e) {
+                                        Thread.currentThread().interrupt();
+                                }
+                                return super.encode(rawPassword);
+                        }
+                };
+                SimpleMeterRegistry registry = new SimpleMeterRegistry();
+                PasswordHasher hasher = new PasswordHasher(blocking, registry, 1, 1);
+
+                // One task running, one queued: the pool is full
+                CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+                assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+                CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+                while (registry.get("executor.queued").tag("name", PasswordHasher.POOL_NAME).gauge().value() < 1) {
+                        Thread.onSpinWait();
+                }
+
+                assertThatThrownBy(() -> hasher.encode("c")).isInstanceOf(PasswordHashingBusyException.class);
+
+                release.countDown();
+                assertThat(running.get(5, TimeUnit.SECONDS)).startsWith("$2a$04$");
+                assertThat(queued.get(5, TimeUnit.SECONDS)).startsWith("$2a$04$");
+        }
+}
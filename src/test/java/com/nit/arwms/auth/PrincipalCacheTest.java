@@ -0,0 +1,86 @@
+package com.nit.arwms.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tests for PrincipalCache against the real users table.
+ */
+@SpringBootTest
+class PrincipalCacheTest {
+
+        @Autowired
+        private PrincipalCache principalCache;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @BeforeEach
+        void setUp() {
+                userRepository.deleteAll();
+                principalCache.evictAll();
+        }
+
+        private double gets(String result) {
+                return meterRegistry.get("cache.gets")
+                                .tag("cache", PrincipalCache.CACHE_NAME)
+                                .tag("result", result)
+                                .functionCounter()
+                                .count();
+        }
+
+        @Test
+        void findByUsername_servesRepeatLookupsFromCache() {
+                userRepository.save(new User("alice", "hash", Role.REQUESTER));
+                double hitsBefore = gets("hit");
+                double missesBefore = gets("miss");
+
+                principalCache.findByUsername("alice");
+                principalCache.findByUsername("alice");
+                principalCache.findByUsername("alice");
+
+                assertThat(gets("miss") - missesBefore).isEqualTo(1);
+                assertThat(gets("hit") - hitsBefore).isEqualTo(2);
+        }
+
+        @Test
+        void findByUsername_doesNotCacheUnknownUsers() {
+                assertThat(principalCache.findByUsername("bob")).isEmpty();
+
+                userRepository.save(new User("bob", "hash", Role.REVIEWER));
+
+                assertThat(principalCache.findByUsername("bob")).isPresent();
+        }
+
+        @Test
+        void savingUser_evictsStaleRole() {
+                User carol = userRepository.save(new User("carol", "hash", Role.REQUESTER));
+                assertThat(principalCache.findByUsername("carol")).get()
+                                .extracting(User::getRole).isEqualTo(Role.REQUESTER);
+
+                carol.setRole(Role.APPROVER);
+                userRepository.save(carol);
+
+                assertThat(principalCache.findByUsername("carol")).get()
+                                .extracting(User::getRole).isEqualTo(Role.APPROVER);
+        }
+
+        @Test
+        void deletingUser_evictsEntry() {
+                User dave = userRepository.save(new User("dave", "hash", Role.REQUESTER));
+                assertThat(principalCache.findByUsername("dave")).isPresent();
+
+                userRepository.delete(dave);
+
+                assertThat(principalCache.findByUsername("dave")).isEmpty();
+        }
+}
@@ -0,0 +1,102 @@
+package com.nit.arwms.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records the SQL statements Hibernate prepares on the current thread, so
+ * tests can pin the exact number of queries a request makes.
+ *
+ * Key Concept: Query-count regression tests
+ * -------------------------------------------
+ * An N+1 query (one extra SELECT per row) or an extra lookup in a filter
+ * does not break any functional test — the response is still correct, it
+ * just costs more round trips. Asserting the exact statement count per
+ * request turns such a change into a failing build.
+ *
+ * Enable it for a test class with:
+ *
+ * {@code @SpringBootTest(properties = SqlStatementCapture.PROPERTY)}
+ *
+ * Hibernate creates the inspector itself (by class name), so capture
+ * state is static. Only statements on the calling thread are recorded:
+ * MockMvc runs the request there, while background work (the transition
+ * history writer) runs on its own threads and is left out.
+ *
+ * Statements sent through JdbcTemplate bypass Hibernate and are not seen.
+ */
+public class SqlStatementCapture implements StatementInspector {
+
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.nit.arwms.support.SqlStatementCapture";
+
+    private static final ThreadLocal<List<String>> CAPTURING = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = CAPTURING.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /** Something to run while capturing (e.g. a MockMvc request). */
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * Runs the action and returns the statements it prepared on this
+     * thread, with its wall-clock time.
+     */
+    public static Captured capture(Action action) throws Exception {
+        List<String> statements = new ArrayList<>();
+        CAPTURING.set(statements);
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            CAPTURING.remove();
+        }
+        return new Captured(List.copyOf(statements), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Statements captured during one action.
+     *
+     * Sequence calls (pooled id allocation, one per 50 inserts) are left
+     * out of {@link #queries()}: whether a given insert needs one depends
+     * on what ran before it, not on the code under test.
+     */
+    public record Captured(List<String> statements, Duration elapsed) {
+
+        /** All statements except sequence calls. */
+        public List<String> queries() {
+            return statements.stream().filter(sql -> !isSequenceCall(sql)).toList();
+        }
+
+        /** Statements of one kind: "select", "insert", "update" or "delete". */
+        public List<String> ofKind(String kind) {
+            return queries().stream()
+                    .filter(sql -> sql.stripLeading().toLowerCase(Locale.ROOT).startsWith(kind))
+                    .toList();
+        }
+
+        private static boolean isSequenceCall(String sql) {
+            String lower = sql.toLowerCase(Locale.ROOT);
+            return lower.contains("next value for") || lower.contains("nextval(");
+        }
+
+        @Override
+        public String toString() {
+            return queries().size() + " statements in " + elapsed.toMillis() + " ms:\n  "
+                    + String.join("\n  ", queries());
+        }
+    }
+}
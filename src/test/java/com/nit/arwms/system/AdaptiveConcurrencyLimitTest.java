@@ -0,0 +1,142 @@
+package com.nit.arwms.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Plain unit tests for AdaptiveConcurrencyLimit (no Spring context needed).
+ *
+ * Latencies are passed in directly, so each test drives the algorithm
+ * through whole windows: fill(n) acquires n slots, then releases them
+ * all with the given latency.
+ */
+class AdaptiveConcurrencyLimitTest {
+
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+	@Test
+	void tryAcquire_rejectsOnceTheLimitIsInFlight() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 2.0, 10);
+
+		assertThat(limit.tryAcquire()).isTrue();
+		assertThat(limit.tryAcquire()).isTrue();
+		assertThat(limit.tryAcquire()).isFalse();
+		assertThat(limit.inFlight()).isEqualTo(2);
+
+		limit.release(FAST);
+		assertThat(limit.tryAcquire()).isTrue();
+	}
+
+	@Test
+	void limitGrows_whileSaturatedAndLatencyIsStable() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, 2.0, 10);
+
+		for (int window = 0; window < 5; window++) {
+			fill(limit, limit.limit(), FAST);
+		}
+
+		assertThat(limit.limit()).isGreaterThan(10);
+	}
+
+	@Test
+	void limitDoesNotGrow_whenMostlyIdle() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 100, 2.0, 10);
+
+		for (int i = 0; i < 100; i++) {
+			fill(limit, 1, FAST);
+		}
+
+		assertThat(limit.limit()).isEqualTo(20);
+	}
+
+	@Test
+	void limitShrinks_whenLatencyRisesAboveTolerance() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 4, 100, 2.0, 10);
+		fill(limit, 10, FAST);
+		int before = limit.limit();
+
+		for (int window = 0; window < 10; window++) {
+			fill(limit, 10, SLOW);
+		}
+
+		assertThat(limit.limit()).isLessThan(before);
+	}
+
+	@Test
+	void limitBacksOffWithinAFewWindows_whenLatencyExceedsTolerance() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 4, 100, 2.0, 10);
+		fill(limit, 40, FAST);
+		int before = limit.limit();
+
+		// 2.5x normal latency with tolerance 2: each window cuts the limit by
+		// about 20% (a little less as the long-term average creeps up)
+		for (int window = 0; window < 3; window++) {
+			fill(limit, 10, FAST * 5 / 2);
+		}
+
+		assertThat(limit.limit()).isLessThan(before * 2 / 3);
+	}
+
+	@Test
+	void limitHalvesInOneWindow_whenLatencyIsFarAboveTolerance() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 4, 100, 2.0, 10);
+		fill(limit, 40, FAST);
+		int before = limit.limit();
+
+		fill(limit, 10, FAST * 10);
+
+		assertThat(limit.limit()).isEqualTo(before / 2);
+	}
+
+	@Test
+	void limitStaysWithinMinAndMax() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 8, 16, 2.0, 4);
+
+		for (int window = 0; window < 50; window++) {
+			fill(limit, limit.limit(), FAST);
+		}
+		assertThat(limit.limit()).isEqualTo(16);
+
+		// Latency doubling every window keeps the gradient at its minimum
+		for (int window = 0; window < 10; window++) {
+			fill(limit, 4, SLOW << window);
+		}
+		assertThat(limit.limit()).isEqualTo(8);
+	}
+
+	@Test
+	void releaseWithoutSample_onlyFreesTheSlot() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 10, 2.0, 1);
+
+		assertThat(limit.tryAcquire()).isTrue();
+		limit.release();
+
+		assertThat(limit.inFlight()).isZero();
+		assertThat(limit.limit()).isEqualTo(1);
+	}
+
+	@Test
+	void constructor_rejectsInvalidSettings() {
+		assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(10, 0, 10, 2.0, 10))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(10, 20, 10, 2.0, 10))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(10, 1, 10, 0.5, 10))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static void fill(AdaptiveConcurrencyLimit limit, int requests, long latencyNanos) {
+		int acquired = 0;
+		while (acquired < requests && limit.tryAcquire()) {
+			acquired++;
+		}
+		for (int i = 0; i < acquired; i++) {
+			limit.release(latencyNanos);
+		}
+	}
+}
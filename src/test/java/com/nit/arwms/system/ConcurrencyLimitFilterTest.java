@@ -0,0 +1,127 @@
+package com.nit.arwms.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.nit.arwms.system.ConcurrencyLimitFilter.RouteGroup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Every group is limited to one request in flight here. A request is
+ * "held" by calling the filter again from inside its own filter chain.
+ */
+@SpringBootTest(properties = {
+		"api.concurrency-limit.initial-limit=1",
+		"api.concurrency-limit.min-limit=1",
+		"api.concurrency-limit.max-limit=1" })
+class ConcurrencyLimitFilterTest {
+
+	@Autowired
+	private ConcurrencyLimitFilter filter;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void routeGroup_classifiesRequests() {
+		assertThat(ConcurrencyLimitFilter.routeGroup(request("POST", "/api/auth/login"))).isEqualTo(RouteGroup.AUTH);
+		assertThat(ConcurrencyLimitFilter.routeGroup(request("GET", "/api/workflows"))).isEqualTo(RouteGroup.WORKFLOW_READS);
+		assertThat(ConcurrencyLimitFilter.routeGroup(request("GET", "/api/workflows/7/history")))
+				.isEqualTo(RouteGroup.WORKFLOW_READS);
+		assertThat(ConcurrencyLimitFilter.routeGroup(request("POST", "/api/workflows"))).isEqualTo(RouteGroup.WORKFLOW_WRITES);
+		assertThat(ConcurrencyLimitFilter.routeGroup(request("PATCH", "/api/workflows/7/transition")))
+				.isEqualTo(RouteGroup.WORKFLOW_WRITES);
+
+		assertThat(ConcurrencyLimitFilter.routeGroup(request("GET", "/api/workflows/events"))).isNull();
+		assertThat(ConcurrencyLimitFilter.routeGroup(request("GET", "/api/workflows/export"))).isNull();
+		assertThat(ConcurrencyLimitFilter.routeGroup(request("GET", "/api/health"))).isNull();
+		assertThat(ConcurrencyLimitFilter.routeGroup(request("GET", "/api/workflowsX"))).isNull();
+	}
+
+	@Test
+	void requestAboveTheLimit_isRejectedWith503AndRetryAfter() throws Exception {
+		double rejectedBefore = rejected("workflow-reads");
+		MockHttpServletResponse[] inner = new MockHttpServletResponse[1];
+
+		MockHttpServletResponse outer = run(request("GET", "/api/workflows"), (req, res) -> {
+			inner[0] = run(request("GET", "/api/workflows/1"), null);
+		});
+
+		assertThat(outer.getStatus()).isEqualTo(200);
+		assertThat(inner[0].getStatus()).isEqualTo(503);
+		assertThat(inner[0].getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+		assertThat(inner[0].getContentAsString())
+				.contains("\"status\":503")
+				.contains("Server is busy, please retry shortly")
+				.contains("/api/workflows/1");
+		assertThat(rejected("workflow-reads")).isEqualTo(rejectedBefore + 1);
+		assertThat(filter.limit(RouteGroup.WORKFLOW_READS).inFlight()).isZero();
+	}
+
+	@Test
+	void groupsHaveSeparateLimits() throws Exception {
+		MockHttpServletResponse[] inner = new MockHttpServletResponse[2];
+
+		run(request("POST", "/api/auth/login"), (req, res) -> {
+			inner[0] = run(request("POST", "/api/workflows"), null);
+			inner[1] = run(request("GET", "/api/health"), null);
+		});
+
+		assertThat(inner[0].getStatus()).isEqualTo(200);
+		assertThat(inner[1].getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void slotIsFreed_whenTheChainThrows() {
+		try {
+			run(request("POST", "/api/workflows"), (req, res) -> {
+				throw new IllegalStateException("boom");
+			});
+		} catch (Exception expected) {
+			// the filter must still release its slot
+		}
+
+		assertThat(filter.limit(RouteGroup.WORKFLOW_WRITES).inFlight()).isZero();
+	}
+
+	private MockHttpServletResponse run(HttpServletRequest request, Body body) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain() {
+			@Override
+			public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+				if (body != null) {
+					try {
+						body.run(req, res);
+					} catch (RuntimeException e) {
+						throw e;
+					} catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+				}
+			}
+		});
+		return response;
+	}
+
+	private static MockHttpServletRequest request(String method, String uri) {
+		return new MockHttpServletRequest(method, uri);
+	}
+
+	private double rejected(String group) {
+		return meterRegistry.get("api.concurrency.rejected").tag("group", group).counter().count();
+	}
+
+	@FunctionalInterface
+	private interface Body {
+		void run(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) throws Exception;
+	}
+}
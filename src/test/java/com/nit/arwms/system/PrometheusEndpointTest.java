@@ -0,0 +1,51 @@
+package com.nit.arwms.system;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * The Prometheus scrape endpoint is exposed, requires authentication, and
+ * includes the application's own meters and the connection pool gauges.
+ *
+ * @AutoConfigureObservability: Spring Boot tests disable metrics export
+ * (including the Prometheus registry) unless asked for.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class PrometheusEndpointTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	@WithMockUser
+	void exposesApplicationAndPoolMeters() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString(
+						"workflow_transitions_total{from=\"DRAFT\",to=\"SUBMITTED\",type=\"standard\"}")))
+				.andExpect(content().string(containsString(
+						"workflow_transitions_rejected_total{reason=\"CONFLICT\"}")))
+				.andExpect(content().string(containsString(
+						"workflow_service_seconds_bucket{method=\"transitionWorkflow\"")))
+				.andExpect(content().string(containsString("security_jwt_filter_seconds_count{stage=\"verify\"}")))
+				.andExpect(content().string(containsString("hikaricp_connections_active")));
+	}
+
+	@Test
+	void requiresAuthentication() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isForbidden());
+	}
+}
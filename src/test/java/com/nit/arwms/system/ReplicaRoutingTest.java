@@ -0,0 +1,272 @@
+package com.nit.arwms.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.nit.arwms.auth.JwtService;
+import com.nit.arwms.auth.PrincipalCache;
+import com.nit.arwms.auth.Role;
+import com.nit.arwms.auth.User;
+import com.nit.arwms.auth.UserRepository;
+import com.nit.arwms.workflow.TransitionHistoryWriter;
+import com.nit.arwms.workflow.Workflow;
+import com.nit.arwms.workflow.WorkflowRepository;
+import com.nit.arwms.workflow.WorkflowRequest;
+import com.nit.arwms.workflow.WorkflowResponseCache;
+import com.nit.arwms.workflow.WorkflowService;
+import com.nit.arwms.workflow.WorkflowStatus;
+import com.nit.arwms.workflow.WorkflowTransitionRequest;
+
+/**
+ * Read/write routing with two separate H2 databases.
+ *
+ * The "replica" only receives the schema, and rows only when a test
+ * copies them over (replicate()), i.e. it is a replica with unlimited
+ * lag. Whether a read finds a row therefore shows which database
+ * answered it.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+		"datasource.replica.jdbc-url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+		"datasource.replica.username=sa",
+		"spring.jpa.show-sql=false" })
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+
+	private static final List<String> TABLES = List.of("workflow_transitions", "workflows", "users");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	@Qualifier("primaryDataSource")
+	private DataSource primary;
+
+	@Autowired
+	@Qualifier("replicaDataSource")
+	private DataSource replica;
+
+	@Autowired
+	private WorkflowService workflowService;
+
+	@Autowired
+	private WorkflowRepository workflowRepository;
+
+	@Autowired
+	private WorkflowResponseCache responseCache;
+
+	@Autowired
+	private TransitionHistoryWriter historyWriter;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PrincipalCache principalCache;
+
+	@Autowired
+	private JwtService jwtService;
+
+	private JdbcTemplate primaryJdbc;
+	private JdbcTemplate replicaJdbc;
+
+	@BeforeEach
+	void setUp() {
+		primaryJdbc = new JdbcTemplate(primary);
+		replicaJdbc = new JdbcTemplate(replica);
+		if (replicaJdbc.queryForObject(
+				"SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'WORKFLOWS'", Integer.class) == 0) {
+			// Same schema as the primary (created there by Hibernate), no rows
+			for (String ddl : primaryJdbc.queryForList("SCRIPT NODATA", String.class)) {
+				replicaJdbc.execute(ddl);
+			}
+		}
+		historyWriter.flush();
+		for (String table : TABLES) {
+			primaryJdbc.update("DELETE FROM " + table);
+			replicaJdbc.update("DELETE FROM " + table);
+		}
+		responseCache.evictAll();
+		principalCache.evictAll();
+	}
+
+	/** Copies every row of the table from the primary to the replica. */
+	private void replicate(String table) {
+		SimpleJdbcInsert insert = new SimpleJdbcInsert(replica).withTableName(table.toUpperCase());
+		replicaJdbc.update("DELETE FROM " + table);
+		for (Map<String, Object> row : primaryJdbc.queryForList("SELECT * FROM " + table)) {
+			insert.execute(row);
+		}
+	}
+
+	private Workflow saveOnPrimary(String title) {
+		return workflowRepository.save(new Workflow(null, title, null, WorkflowStatus.DRAFT, LocalDateTime.now()));
+	}
+
+	// ─── the replica ────────────────────────────────────────────────
+
+	@Test
+	@WithMockUser
+	void transitionHistory_isServedByTheReplica() throws Exception {
+		Workflow wf = saveOnPrimary("wf");
+
+		mockMvc.perform(get("/api/workflows/" + wf.getId() + "/transitions")).andExpect(status().isNotFound());
+
+		replicate("workflows");
+		mockMvc.perform(get("/api/workflows/" + wf.getId() + "/transitions")).andExpect(status().isOk());
+	}
+
+	@Test
+	@WithMockUser
+	void getById_isServedByTheReplica() throws Exception {
+		Workflow wf = saveOnPrimary("on both");
+		replicate("workflows");
+		primaryJdbc.update("UPDATE workflows SET title = 'primary only'");
+
+		mockMvc.perform(get("/api/workflows/" + wf.getId())).andExpect(jsonPath("$.title").value("on both"));
+	}
+
+	@Test
+	@WithMockUser
+	void list_isServedByTheReplica_taggedWithWhatItRead() throws Exception {
+		saveOnPrimary("on both");
+		replicate("workflows");
+		primaryJdbc.update("UPDATE workflows SET title = 'primary only', version = version + 1");
+
+		String etag = mockMvc.perform(get("/api/workflows"))
+				.andExpect(jsonPath("$.items[0].title").value("on both"))
+				.andReturn().getResponse().getHeader("ETag");
+		assertThat(etag).startsWith("\"p-");
+		mockMvc.perform(get("/api/workflows").header("If-None-Match", etag)).andExpect(status().isNotModified());
+
+		replicate("workflows");
+		mockMvc.perform(get("/api/workflows").header("If-None-Match", etag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[0].title").value("primary only"));
+	}
+
+	@Test
+	void jwtFilter_loadsTheUserFromTheReplica() throws Exception {
+		User user = userRepository.save(new User("alice", "not-used", Role.REQUESTER));
+		String token = "Bearer " + jwtService.generateToken(user);
+		replicate("users");
+		primaryJdbc.update("DELETE FROM users");
+
+		mockMvc.perform(get("/api/workflows").header("Authorization", token)).andExpect(status().isOk());
+	}
+
+	@Test
+	void jwtFilter_loadsAUserNotOnTheReplicaYetFromThePrimary() throws Exception {
+		User user = userRepository.save(new User("alice", "not-used", Role.REQUESTER));
+		String token = "Bearer " + jwtService.generateToken(user);
+
+		mockMvc.perform(get("/api/workflows").header("Authorization", token)).andExpect(status().isOk());
+	}
+
+	// ─── caches are not refilled from a lagging replica ─────────────
+
+	@Test
+	@WithMockUser
+	void getById_afterTransition_returnsTheNewStatusDespiteALaggingReplica() throws Exception {
+		Long id = workflowService.createWorkflow(new WorkflowRequest("wf", null)).id();
+		replicate("workflows");
+		String etag = mockMvc.perform(get("/api/workflows/" + id))
+				.andExpect(jsonPath("$.status").value("DRAFT"))
+				.andReturn().getResponse().getHeader("ETag");
+
+		// The replica still has DRAFT; the eviction must not refill the cache from it
+		workflowService.transitionWorkflow(id, new WorkflowTransitionRequest(WorkflowStatus.SUBMITTED, "REQUESTER"));
+
+		mockMvc.perform(get("/api/workflows/" + id)).andExpect(jsonPath("$.status").value("SUBMITTED"));
+		mockMvc.perform(get("/api/workflows/" + id).header("If-None-Match", etag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("SUBMITTED"));
+	}
+
+	@Test
+	void principalCache_afterARoleChange_returnsTheNewRoleDespiteALaggingReplica() {
+		User user = userRepository.save(new User("alice", "not-used", Role.REQUESTER));
+		replicate("users");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+		try {
+			assertThat(principalCache.findByUsername("alice")).map(User::getRole).hasValue(Role.REQUESTER);
+
+			user.setRole(Role.REVIEWER);
+			userRepository.save(user);
+
+			assertThat(principalCache.findByUsername("alice")).map(User::getRole).hasValue(Role.REVIEWER);
+		} finally {
+			RequestContextHolder.resetRequestAttributes();
+		}
+	}
+
+	// ─── writes and what follows them ─────────────────────────────
+
+	@Test
+	@WithMockUser
+	void writesGoToThePrimary() throws Exception {
+		mockMvc.perform(post("/api/workflows")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\": \"New\"}"))
+				.andExpect(status().isCreated());
+
+		assertThat(primaryJdbc.queryForObject("SELECT COUNT(*) FROM workflows", Integer.class)).isEqualTo(1);
+		assertThat(replicaJdbc.queryForObject("SELECT COUNT(*) FROM workflows", Integer.class)).isZero();
+	}
+
+	@Test
+	void readsAfterAWriteInTheSameRequestUseThePrimary() {
+		Workflow existing = saveOnPrimary("existing");
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+		try {
+			assertThat(workflowRepository.findById(existing.getId())).isEmpty();
+
+			workflowService.createWorkflow(new WorkflowRequest("new", null));
+
+			assertThat(workflowRepository.findById(existing.getId())).isPresent();
+		} finally {
+			RequestContextHolder.resetRequestAttributes();
+		}
+	}
+
+	@Test
+	void readsOutsideRequestsUseThePrimary() {
+		Workflow wf = saveOnPrimary("wf");
+
+		assertThat(workflowRepository.findById(wf.getId())).isPresent();
+	}
+
+	@Test
+	@WithMockUser
+	void changeFeed_alwaysReadsThePrimary() throws Exception {
+		workflowService.createWorkflow(new WorkflowRequest("changed", null));
+
+		mockMvc.perform(get("/api/workflows/changes"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items[0].title").value("changed"));
+	}
+}
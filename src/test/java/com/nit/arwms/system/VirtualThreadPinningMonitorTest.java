@@ -0,0 +1,59 @@
+package com.nit.arwms.system;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Virtual-thread mode only exists on Java 21+; run with
+ * JAVA_HOME pointing at a JDK 21 and ./mvnw -Pvirtual-threads test.
+ */
+@SpringBootTest
+@ActiveProfiles("virtual-threads")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadPinningMonitorTest {
+
+	private final Object lock = new Object();
+
+	@Autowired
+	@Qualifier("applicationTaskExecutor")
+	private AsyncTaskExecutor taskExecutor;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void blockingInsideSynchronizedOnVirtualThread_isCounted() throws Exception {
+		double before = pinnedCount();
+
+		// applicationTaskExecutor runs tasks on virtual threads in this profile
+		taskExecutor.submit(() -> {
+			synchronized (lock) {
+				Thread.sleep(100);
+			}
+			return null;
+		}).get(5, TimeUnit.SECONDS);
+
+		// JFR events arrive asynchronously
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (pinnedCount() == before && System.nanoTime() < deadline) {
+			Thread.sleep(50);
+		}
+		assertThat(pinnedCount()).isGreaterThan(before);
+	}
+
+	private double pinnedCount() {
+		return meterRegistry.get("jvm.threads.virtual.pinned").counter().count();
+	}
+}
@@ -0,0 +1,99 @@
+package com.nit.arwms.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * A one-entry queue with almost no offer timeout, so most entries take
+ * the synchronous fallback path. It runs inside the committed
+ * transaction's afterCommit callback, and must still write every row.
+ */
+@SpringBootTest(properties = {
+        "workflow.history.queue-capacity=1",
+        "workflow.history.batch-size=1",
+        "workflow.history.offer-timeout=1ms" })
+class TransitionHistoryWriterTest {
+
+        @Autowired
+        private WorkflowService workflowService;
+
+        @Autowired
+        private WorkflowRepository workflowRepository;
+
+        @Autowired
+        private WorkflowTransitionRepository transitionRepository;
+
+        @Autowired
+        private TransitionHistoryWriter historyWriter;
+
+        @BeforeEach
+        void setUp() {
+                historyWriter.flush();
+                transitionRepository.deleteAll();
+                workflowRepository.deleteAll();
+        }
+
+        @Test
+        void concurrentTransitionsWithAFullQueue_persistEveryEntry() throws Exception {
+                List<Long> ids = saveDrafts(48);
+                CountDownLatch start = new CountDownLatch(1);
+                ExecutorService pool = Executors.newFixedThreadPool(8);
+                List<Future<?>> results = new ArrayList<>();
+
+                try {
+                        for (Long id : ids) {
+                                results.add(pool.submit(() -> {
+                                        start.await();
+                                        return workflowService.transitionWorkflow(id,
+                                                        new WorkflowTransitionRequest(WorkflowStatus.SUBMITTED, "REQUESTER"));
+                                }));
+                        }
+                        start.countDown();
+                        for (Future<?> result : results) {
+                                result.get();
+                        }
+                } finally {
+                        pool.shutdownNow();
+                }
+                historyWriter.flush();
+
+                assertThat(transitionRepository.count()).isEqualTo(ids.size());
+        }
+
+        @Test
+        void transitionsWhileStopped_areWrittenSynchronously() {
+                List<Long> ids = saveDrafts(3);
+                historyWriter.stop();
+                try {
+                        for (Long id : ids) {
+                                workflowService.transitionWorkflow(id,
+                                                new WorkflowTransitionRequest(WorkflowStatus.SUBMITTED, "REQUESTER"));
+                        }
+                        // Written before transitionWorkflow returned, not by the worker
+                        assertThat(transitionRepository.count()).isEqualTo(ids.size());
+                } finally {
+                        historyWriter.start();
+                }
+        }
+
+        private List<Long> saveDrafts(int count) {
+                List<Long> ids = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                        ids.add(workflowRepository.save(
+                                        new Workflow(null, "wf-" + i, null, WorkflowStatus.DRAFT, LocalDateTime.now())).getId());
+                }
+                return ids;
+        }
+}
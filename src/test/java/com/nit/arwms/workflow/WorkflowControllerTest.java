@@ -1,17 +1,28 @@
 package com.nit.arwms.workflow;
 
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,7 +33,10 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.nit.arwms.exception.ConcurrentTransitionException;
+import com.nit.arwms.exception.InvalidCursorException;
 import com.nit.arwms.exception.InvalidTransitionException;
+import com.nit.arwms.exception.UnknownWorkflowTypeException;
 import com.nit.arwms.exception.WorkflowNotFoundException;
 
 /**
@@ -47,30 +61,111 @@ class WorkflowControllerTest {
         @MockitoBean
         private WorkflowService workflowService;
 
+        @MockitoBean
+        private WorkflowExporter exporter;
+
         // ─── GET /api/workflows ─────────────────────────────────────────
 
         @Test
         @WithMockUser
         void getAllWorkflows_returnsEmptyListInitially() throws Exception {
-                when(workflowService.getAllWorkflows()).thenReturn(Collections.emptyList());
+                when(workflowService.getAllWorkflows(any(WorkflowFilter.class), isNull(), isNull()))
+                                .thenReturn(new WorkflowPage(Collections.emptyList(), null));
 
                 mockMvc.perform(get("/api/workflows"))
                                 .andExpect(status().isOk())
-                                .andExpect(jsonPath("$").isArray())
-                                .andExpect(jsonPath("$").isEmpty());
+                                .andExpect(jsonPath("$.items").isArray())
+                                .andExpect(jsonPath("$.items").isEmpty())
+                                .andExpect(jsonPath("$.nextCursor").doesNotExist());
         }
 
         @Test
         @WithMockUser
         void getAllWorkflows_returnsWorkflowList() throws Exception {
                 WorkflowResponse wf = new WorkflowResponse(1L, "Leave Request",
-                                "Employee leave approval", "DRAFT", LocalDateTime.now());
-                when(workflowService.getAllWorkflows()).thenReturn(List.of(wf));
+                                "Employee leave approval", "standard", "DRAFT", LocalDateTime.now(), 0L);
+                when(workflowService.getAllWorkflows(any(WorkflowFilter.class), isNull(), isNull()))
+                                .thenReturn(new WorkflowPage(List.of(wf), null));
 
                 mockMvc.perform(get("/api/workflows"))
                                 .andExpect(status().isOk())
-                                .andExpect(jsonPath("$[0].id").value(1))
-                                .andExpect(jsonPath("$[0].status").value("DRAFT"));
+                                .andExpect(jsonPath("$.items[0].id").value(1))
+                                .andExpect(jsonPath("$.items[0].status").value("DRAFT"));
+        }
+
+        @Test
+        @WithMockUser
+        void getAllWorkflows_passesFiltersAndCursor() throws Exception {
+                WorkflowFilter filter = new WorkflowFilter(WorkflowStatus.SUBMITTED,
+                                LocalDateTime.of(2026, 1, 1, 0, 0), null);
+                when(workflowService.getAllWorkflows(eq(filter), eq("abc"), eq(10)))
+                                .thenReturn(new WorkflowPage(Collections.emptyList(), "next"));
+
+                mockMvc.perform(get("/api/workflows")
+                                .param("status", "SUBMITTED")
+                                .param("from", "2026-01-01T00:00:00")
+                                .param("cursor", "abc")
+                                .param("size", "10"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.nextCursor").value("next"));
+        }
+
+        // ─── GET /api/workflows/changes ─────────────────────────────────
+
+        @Test
+        @WithMockUser
+        void getChanges_returnsPageAndCursor() throws Exception {
+                WorkflowResponse changed = new WorkflowResponse(3L, "Changed", null, "standard", "SUBMITTED",
+                                LocalDateTime.now(), 1L);
+                when(workflowService.getChanges(eq("abc"), eq(50)))
+                                .thenReturn(new WorkflowChangePage(List.of(changed), "def", false));
+
+                mockMvc.perform(get("/api/workflows/changes").param("cursor", "abc").param("size", "50"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items[0].id").value(3))
+                                .andExpect(jsonPath("$.nextCursor").value("def"))
+                                .andExpect(jsonPath("$.hasMore").value(false));
+        }
+
+        @Test
+        @WithMockUser
+        void getChanges_returnsBadRequestForMalformedCursor() throws Exception {
+                when(workflowService.getChanges(eq("bad"), isNull()))
+                                .thenThrow(new InvalidCursorException("bad"));
+
+                mockMvc.perform(get("/api/workflows/changes").param("cursor", "bad"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @WithMockUser
+        void getAllWorkflows_returnsNotModifiedWithoutQueryingWhenCollectionUnchanged() throws Exception {
+                when(workflowService.getCollectionVersion()).thenReturn("boot-7");
+
+                mockMvc.perform(get("/api/workflows").header("If-None-Match", "\"c-boot-7\""))
+                                .andExpect(status().isNotModified())
+                                .andExpect(header().string("ETag", "\"c-boot-7\""));
+                verify(workflowService, never()).getAllWorkflows(any(), any(), any());
+        }
+
+        @Test
+        @WithMockUser
+        void getAllWorkflows_returnsPageWithETagWhenCollectionChanged() throws Exception {
+                when(workflowService.getCollectionVersion()).thenReturn("boot-8");
+                when(workflowService.getAllWorkflows(any(WorkflowFilter.class), isNull(), isNull()))
+                                .thenReturn(new WorkflowPage(Collections.emptyList(), null));
+
+                mockMvc.perform(get("/api/workflows").header("If-None-Match", "\"c-boot-7\""))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", "\"c-boot-8\""));
+        }
+
+        @Test
+        @WithMockUser
+        void getAllWorkflows_returnsBadRequestForUnknownStatus() throws Exception {
+                mockMvc.perform(get("/api/workflows").param("status", "INVALID_STATUS"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.status").value(400));
         }
 
         @Test
@@ -79,13 +174,94 @@ class WorkflowControllerTest {
                                 .andExpect(status().isForbidden());
         }
 
+        // ─── GET /api/workflows/summary ─────────────────────────────────
+
+        @Test
+        @WithMockUser
+        void getStatusSummary_returnsCountPerStatus() throws Exception {
+                Map<WorkflowStatus, Long> counts = new EnumMap<>(WorkflowStatus.class);
+                for (WorkflowStatus status : WorkflowStatus.values()) {
+                        counts.put(status, 0L);
+                }
+                counts.put(WorkflowStatus.DRAFT, 3L);
+                counts.put(WorkflowStatus.APPROVED, 2L);
+                when(workflowService.getStatusSummary()).thenReturn(WorkflowStatusSummary.of(counts));
+
+                mockMvc.perform(get("/api/workflows/summary"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.counts.DRAFT").value(3))
+                                .andExpect(jsonPath("$.counts.APPROVED").value(2))
+                                .andExpect(jsonPath("$.counts.REJECTED").value(0))
+                                .andExpect(jsonPath("$.total").value(5));
+        }
+
+        // ─── GET /api/workflows/export ──────────────────────────────────
+
+        @Test
+        @WithMockUser
+        void exportWorkflows_streamsAttachmentInRequestedFormat() throws Exception {
+                WorkflowFilter filter = new WorkflowFilter(WorkflowStatus.APPROVED,
+                                LocalDateTime.of(2026, 1, 1, 0, 0), null);
+
+                mockMvc.perform(get("/api/workflows/export")
+                                .param("format", "CSV")
+                                .param("status", "APPROVED")
+                                .param("from", "2026-01-01T00:00:00"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                                .andExpect(header().string("Content-Disposition", matchesPattern(
+                                                "attachment; filename=\"workflows-\\d{4}-\\d{2}-\\d{2}\\.csv\"")));
+
+                verify(exporter).export(eq(filter), eq(WorkflowExportFormat.CSV), any());
+        }
+
+        @Test
+        @WithMockUser
+        void exportWorkflows_defaultsToNdjsonAndRejectsUnknownFormat() throws Exception {
+                mockMvc.perform(get("/api/workflows/export"))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"));
+                verify(exporter).export(eq(WorkflowFilter.none()), eq(WorkflowExportFormat.NDJSON), any());
+
+                mockMvc.perform(get("/api/workflows/export").param("format", "XML"))
+                                .andExpect(status().isBadRequest());
+        }
+
+        // ─── GET /api/workflows/search ──────────────────────────────────
+
+        @Test
+        @WithMockUser
+        void search_passesQueryStatusesAndLimit() throws Exception {
+                WorkflowResponse wf = new WorkflowResponse(7L, "Leave request", null, "standard", "SUBMITTED",
+                                LocalDateTime.now(), 1L);
+                when(workflowService.search(eq("leave aug"),
+                                eq(Set.of(WorkflowStatus.SUBMITTED, WorkflowStatus.DRAFT)), eq(5)))
+                                .thenReturn(new WorkflowSearchResponse(List.of(wf), 12));
+
+                mockMvc.perform(get("/api/workflows/search")
+                                .param("q", "leave aug")
+                                .param("status", "SUBMITTED", "DRAFT")
+                                .param("limit", "5"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.items[0].id").value(7))
+                                .andExpect(jsonPath("$.total").value(12));
+        }
+
+        @Test
+        @WithMockUser
+        void search_returnsBadRequestWithoutQuery() throws Exception {
+                mockMvc.perform(get("/api/workflows/search"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message").value("Missing required parameter 'q'"));
+        }
+
         // ─── POST /api/workflows ────────────────────────────────────────
 
         @Test
         @WithMockUser
         void createWorkflow_returnsCreatedWorkflow() throws Exception {
                 WorkflowResponse response = new WorkflowResponse(1L, "Leave Request",
-                                "Employee leave approval workflow", "DRAFT", LocalDateTime.now());
+                                "Employee leave approval workflow", "standard", "DRAFT", LocalDateTime.now(), 0L);
                 when(workflowService.createWorkflow(any(WorkflowRequest.class))).thenReturn(response);
 
                 String requestBody = """
@@ -114,18 +290,82 @@ class WorkflowControllerTest {
                                 .andExpect(jsonPath("$.error").value("Bad Request"));
         }
 
+        @Test
+        @WithMockUser
+        void createWorkflow_returnsBadRequestForUnknownType() throws Exception {
+                when(workflowService.createWorkflow(any(WorkflowRequest.class)))
+                                .thenThrow(new UnknownWorkflowTypeException("nope", Set.of("standard")));
+
+                mockMvc.perform(post("/api/workflows")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"title\": \"Leave Request\", \"type\": \"nope\"}"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.message").value("Unknown workflow type: nope. Known types: [standard]"));
+        }
+
+        @Test
+        @WithMockUser
+        void createWorkflows_returnsCreatedWorkflows() throws Exception {
+                when(workflowService.createWorkflows(anyList())).thenReturn(List.of(
+                                new WorkflowResponse(1L, "A", null, "standard", "DRAFT", LocalDateTime.now(), 0L),
+                                new WorkflowResponse(2L, "B", null, "standard", "DRAFT", LocalDateTime.now(), 0L)));
+
+                mockMvc.perform(post("/api/workflows/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"items\": [{\"title\": \"A\"}, {\"title\": \"B\"}]}"))
+                                .andExpect(status().isCreated())
+                                .andExpect(jsonPath("$[1].id").value(2));
+        }
+
+        @Test
+        @WithMockUser
+        void createWorkflows_validatesEachItem() throws Exception {
+                mockMvc.perform(post("/api/workflows/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"items\": [{\"title\": \"A\"}, {\"title\": \"\"}]}"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.status").value(400));
+        }
+
         // ─── GET /api/workflows/{id} ────────────────────────────────────
 
         @Test
         @WithMockUser
         void getWorkflowById_returnsWorkflowWhenFound() throws Exception {
                 WorkflowResponse workflow = new WorkflowResponse(1L, "Leave Request",
-                                "Employee leave approval", "DRAFT", LocalDateTime.now());
+                                "Employee leave approval", "standard", "DRAFT", LocalDateTime.now(), 0L);
                 when(workflowService.findById(1L)).thenReturn(workflow);
 
                 mockMvc.perform(get("/api/workflows/1"))
                                 .andExpect(status().isOk())
-                                .andExpect(jsonPath("$.id").value(1));
+                                .andExpect(header().string("ETag", "\"1-0\""))
+                                .andExpect(jsonPath("$.id").value(1))
+                                .andExpect(jsonPath("$.version").doesNotExist());
+        }
+
+        @Test
+        @WithMockUser
+        void getWorkflowById_returnsNotModifiedWithoutLoadingWhenETagMatches() throws Exception {
+                when(workflowService.findVersion(1L)).thenReturn(3L);
+
+                mockMvc.perform(get("/api/workflows/1").header("If-None-Match", "\"1-3\""))
+                                .andExpect(status().isNotModified())
+                                .andExpect(header().string("ETag", "\"1-3\""))
+                                .andExpect(content().string(""));
+                verify(workflowService, never()).findById(anyLong());
+        }
+
+        @Test
+        @WithMockUser
+        void getWorkflowById_returnsWorkflowWhenETagIsStale() throws Exception {
+                when(workflowService.findVersion(1L)).thenReturn(4L);
+                when(workflowService.findById(1L)).thenReturn(new WorkflowResponse(1L, "Leave Request",
+                                null, "standard", "SUBMITTED", LocalDateTime.now(), 4L));
+
+                mockMvc.perform(get("/api/workflows/1").header("If-None-Match", "\"1-3\""))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string("ETag", "\"1-4\""))
+                                .andExpect(jsonPath("$.status").value("SUBMITTED"));
         }
 
         @Test
@@ -140,13 +380,28 @@ class WorkflowControllerTest {
                                 .andExpect(jsonPath("$.message").value("Workflow not found with id: 999"));
         }
 
+        // ─── GET /api/workflows/{id}/transitions ────────────────────────
+
+        @Test
+        @WithMockUser
+        void getTransitionHistory_returnsEntries() throws Exception {
+                when(workflowService.getTransitionHistory(1L)).thenReturn(List.of(
+                                new WorkflowTransitionResponse("DRAFT", "SUBMITTED", "alice", "REQUESTER",
+                                                LocalDateTime.now())));
+
+                mockMvc.perform(get("/api/workflows/1/transitions"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].toStatus").value("SUBMITTED"))
+                                .andExpect(jsonPath("$[0].actor").value("alice"));
+        }
+
         // ─── PATCH /api/workflows/{id}/transition ───────────────────────
 
         @Test
         @WithMockUser(roles = "REQUESTER")
         void transitionWorkflow_submitsSuccessfully() throws Exception {
                 WorkflowResponse response = new WorkflowResponse(1L, "Leave Request",
-                                "desc", "SUBMITTED", LocalDateTime.now());
+                                "desc", "standard", "SUBMITTED", LocalDateTime.now(), 0L);
                 when(workflowService.transitionWorkflow(eq(1L), any(WorkflowTransitionRequest.class)))
                                 .thenReturn(response);
 
@@ -161,7 +416,7 @@ class WorkflowControllerTest {
         @WithMockUser(roles = "APPROVER")
         void transitionWorkflow_approvesSuccessfully() throws Exception {
                 WorkflowResponse response = new WorkflowResponse(1L, "Leave Request",
-                                "desc", "APPROVED", LocalDateTime.now());
+                                "desc", "standard", "APPROVED", LocalDateTime.now(), 0L);
                 when(workflowService.transitionWorkflow(eq(1L), any(WorkflowTransitionRequest.class)))
                                 .thenReturn(response);
 
@@ -187,6 +442,20 @@ class WorkflowControllerTest {
                                 .andExpect(jsonPath("$.error").value("Conflict"));
         }
 
+        @Test
+        @WithMockUser(roles = "APPROVER")
+        void transitionWorkflow_returns409WhenAnotherRequestWonTheRace() throws Exception {
+                when(workflowService.transitionWorkflow(eq(1L), any(WorkflowTransitionRequest.class)))
+                                .thenThrow(new ConcurrentTransitionException(1L, WorkflowStatus.UNDER_REVIEW));
+
+                mockMvc.perform(patch("/api/workflows/1/transition")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"targetStatus\": \"REJECTED\", \"role\": \"APPROVER\"}"))
+                                .andExpect(status().isConflict())
+                                .andExpect(jsonPath("$.status").value(409))
+                                .andExpect(jsonPath("$.error").value("Conflict"));
+        }
+
         @Test
         @WithMockUser
         void transitionWorkflow_returns404ForNonExistentWorkflow() throws Exception {
@@ -199,4 +468,39 @@ class WorkflowControllerTest {
                                 .andExpect(status().isNotFound())
                                 .andExpect(jsonPath("$.status").value(404));
         }
+
+        // ─── POST /api/workflows/bulk/transition ────────────────────────
+
+        @Test
+        @WithMockUser(roles = "REVIEWER")
+        void transitionWorkflows_returnsPerItemResults() throws Exception {
+                BulkTransitionResponse response = BulkTransitionResponse.of(List.of(
+                                new BulkTransitionResponse.Result(1L, TransitionOutcome.SUCCESS, "UNDER_REVIEW", null),
+                                new BulkTransitionResponse.Result(2L, TransitionOutcome.NOT_FOUND, null,
+                                                "Workflow not found with id: 2")));
+                when(workflowService.transitionWorkflows(any(BulkTransitionRequest.class))).thenReturn(response);
+
+                mockMvc.perform(post("/api/workflows/bulk/transition")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                                {"items": [
+                                                    {"id": 1, "targetStatus": "UNDER_REVIEW"},
+                                                    {"id": 2, "targetStatus": "UNDER_REVIEW"}
+                                                ]}
+                                                """))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.succeeded").value(1))
+                                .andExpect(jsonPath("$.failed").value(1))
+                                .andExpect(jsonPath("$.results[1].outcome").value("NOT_FOUND"));
+        }
+
+        @Test
+        @WithMockUser(roles = "REVIEWER")
+        void transitionWorkflows_returnsBadRequestForEmptyBatch() throws Exception {
+                mockMvc.perform(post("/api/workflows/bulk/transition")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"items\": []}"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.status").value(400));
+        }
 }
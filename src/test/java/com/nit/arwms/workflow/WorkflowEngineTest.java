@@ -0,0 +1,111 @@
+package com.nit.arwms.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.nit.arwms.auth.Role;
+import com.nit.arwms.exception.UnknownWorkflowTypeException;
+
+/**
+ * Plain unit tests for WorkflowEngine and the compiled WorkflowDefinitions
+ * (no Spring context needed).
+ */
+class WorkflowEngineTest {
+
+        private static final WorkflowDefinitionProperties.Type STANDARD = new WorkflowDefinitionProperties.Type(
+                        WorkflowStatus.DRAFT, List.of(
+                                        "DRAFT->SUBMITTED:REQUESTER",
+                                        "SUBMITTED->UNDER_REVIEW:REVIEWER",
+                                        "UNDER_REVIEW->APPROVED:APPROVER",
+                                        "UNDER_REVIEW->REJECTED:APPROVER"));
+
+        private static final WorkflowDefinitionProperties.Type FAST_TRACK = new WorkflowDefinitionProperties.Type(
+                        WorkflowStatus.DRAFT, List.of(
+                                        "DRAFT -> SUBMITTED : REQUESTER",
+                                        "SUBMITTED -> APPROVED : APPROVER"));
+
+        private static WorkflowEngine engine(Map<String, WorkflowDefinitionProperties.Type> types) {
+                return new WorkflowEngine(new WorkflowDefinitionProperties(types));
+        }
+
+        @Test
+        void definition_compilesConfiguredEdgesAndRoles() {
+                WorkflowDefinition standard = engine(Map.of("standard", STANDARD)).definition("standard");
+
+                assertThat(standard.getInitialStatus()).isEqualTo(WorkflowStatus.DRAFT);
+                assertThat(standard.canTransition(WorkflowStatus.DRAFT, WorkflowStatus.SUBMITTED)).isTrue();
+                assertThat(standard.canTransition(WorkflowStatus.DRAFT, WorkflowStatus.APPROVED)).isFalse();
+                assertThat(standard.requiredRole(WorkflowStatus.UNDER_REVIEW, WorkflowStatus.REJECTED))
+                                .isEqualTo(Role.APPROVER);
+                assertThat(standard.requiredRole(WorkflowStatus.APPROVED, WorkflowStatus.DRAFT)).isNull();
+                assertThat(standard.allowedTransitions(WorkflowStatus.UNDER_REVIEW))
+                                .containsExactly(WorkflowStatus.APPROVED, WorkflowStatus.REJECTED);
+                assertThat(standard.allowedTransitions(WorkflowStatus.APPROVED)).isEmpty();
+        }
+
+        @Test
+        void definition_keepsTypesIndependent() {
+                WorkflowEngine engine = engine(Map.of("standard", STANDARD, "fast-track", FAST_TRACK));
+
+                assertThat(engine.definition("fast-track")
+                                .canTransition(WorkflowStatus.SUBMITTED, WorkflowStatus.APPROVED)).isTrue();
+                assertThat(engine.definition("standard")
+                                .canTransition(WorkflowStatus.SUBMITTED, WorkflowStatus.APPROVED)).isFalse();
+        }
+
+        @Test
+        void definition_defaultsToStandardAndRejectsUnknownTypes() {
+                WorkflowEngine engine = engine(Map.of("standard", STANDARD));
+
+                assertThat(engine.definition(null).getType()).isEqualTo(WorkflowEngine.DEFAULT_TYPE);
+                assertThatThrownBy(() -> engine.definition("nope"))
+                                .isInstanceOf(UnknownWorkflowTypeException.class)
+                                .hasMessageContaining("standard");
+        }
+
+        @Test
+        void sources_listsEveryStatusATargetIsReachedFromWithARole() {
+                WorkflowEngine engine = engine(Map.of("standard", STANDARD, "fast-track", FAST_TRACK));
+
+                assertThat(engine.sources(WorkflowStatus.APPROVED, Role.APPROVER)).containsExactly(
+                                new WorkflowEngine.TransitionSource(WorkflowStatus.SUBMITTED, Set.of("fast-track")),
+                                new WorkflowEngine.TransitionSource(WorkflowStatus.UNDER_REVIEW, Set.of("standard")));
+                assertThat(engine.sources(WorkflowStatus.SUBMITTED, Role.REQUESTER)).containsExactly(
+                                new WorkflowEngine.TransitionSource(WorkflowStatus.DRAFT, Set.of("standard", "fast-track")));
+                assertThat(engine.sources(WorkflowStatus.SUBMITTED, Role.APPROVER)).isEmpty();
+                assertThat(engine.sources(WorkflowStatus.SUBMITTED, null)).isEmpty();
+        }
+
+        @Test
+        void engine_requiresDefaultType() {
+                assertThatThrownBy(() -> engine(Map.of("fast-track", FAST_TRACK)))
+                                .isInstanceOf(IllegalStateException.class)
+                                .hasMessageContaining("standard");
+        }
+
+        @Test
+        void compile_rejectsInvalidDefinitions() {
+                assertThatThrownBy(() -> compile("DRAFT->SUBMITTED"))
+                                .hasMessageContaining("FROM->TO:ROLE");
+                assertThatThrownBy(() -> compile("DRAFT->SENT:REQUESTER"))
+                                .hasMessageContaining("unknown WorkflowStatus 'SENT'");
+                assertThatThrownBy(() -> compile("DRAFT->SUBMITTED:ADMIN"))
+                                .hasMessageContaining("unknown Role 'ADMIN'");
+                assertThatThrownBy(() -> compile("DRAFT->SUBMITTED:REQUESTER", "DRAFT->SUBMITTED:REVIEWER"))
+                                .hasMessageContaining("declared twice");
+                assertThatThrownBy(() -> compile("DRAFT->DRAFT:REQUESTER"))
+                                .hasMessageContaining("does not change status");
+                assertThatThrownBy(() -> compile("DRAFT->SUBMITTED:REQUESTER", "UNDER_REVIEW->APPROVED:APPROVER"))
+                                .hasMessageContaining("UNDER_REVIEW has transitions but is unreachable");
+        }
+
+        private static WorkflowDefinition compile(String... edges) {
+                return WorkflowDefinition.compile("test", WorkflowStatus.DRAFT, List.of(edges));
+        }
+}
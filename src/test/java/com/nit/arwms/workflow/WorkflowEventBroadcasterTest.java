@@ -0,0 +1,264 @@
+package com.nit.arwms.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.nit.arwms.auth.JwtService;
+import com.nit.arwms.auth.Role;
+import com.nit.arwms.auth.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for WorkflowEventBroadcaster: filtering, ordering, dropping slow
+ * subscribers, and the SSE endpoint end to end with a real JWT.
+ */
+@SpringBootTest(properties = "security.jwt.trust-claims=true")
+@AutoConfigureMockMvc
+class WorkflowEventBroadcasterTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private JwtService jwtService;
+
+        @MockitoSpyBean
+        private WorkflowEventBroadcaster broadcaster;
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private WorkflowEventBroadcaster standalone;
+
+        @AfterEach
+        void tearDown() {
+                if (standalone != null) {
+                        standalone.shutdown();
+                }
+        }
+
+        // ─── delivery ───────────────────────────────────────────────────
+
+        @Test
+        void deliversMatchingEventsInOrder() throws Exception {
+                standalone = newBroadcaster(16);
+                RecordingEmitter emitter = new RecordingEmitter(3);
+                standalone.register(emitter, event -> event.status() == WorkflowStatus.SUBMITTED);
+
+                standalone.publish(transitioned(1L, WorkflowStatus.DRAFT, WorkflowStatus.SUBMITTED));
+                standalone.publish(transitioned(2L, WorkflowStatus.SUBMITTED, WorkflowStatus.UNDER_REVIEW));
+                standalone.publish(transitioned(3L, WorkflowStatus.DRAFT, WorkflowStatus.SUBMITTED));
+
+                // keep-alive comment on connect, then the two SUBMITTED events
+                assertThat(emitter.await()).isTrue();
+                assertThat(emitter.sent.get(1)).contains("event:workflow.transitioned").contains("workflowId=1,");
+                assertThat(emitter.sent.get(2)).contains("workflowId=3,");
+                assertThat(emitter.sent).hasSize(3);
+        }
+
+        @Test
+        void slowSubscriberIsDroppedWithoutBlockingPublisher() throws Exception {
+                standalone = newBroadcaster(4);
+                CountDownLatch release = new CountDownLatch(1);
+                BlockingEmitter slow = new BlockingEmitter(release);
+                RecordingEmitter fast = new RecordingEmitter(11);
+                standalone.register(slow, event -> true);
+                standalone.register(fast, event -> true);
+
+                Duration slowest = Duration.ZERO;
+                for (long id = 1; id <= 10; id++) {
+                        long start = System.nanoTime();
+                        standalone.publish(transitioned(id, WorkflowStatus.DRAFT, WorkflowStatus.SUBMITTED));
+                        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+                        slowest = elapsed.compareTo(slowest) > 0 ? elapsed : slowest;
+                        // keep the fast client's buffer from filling up too
+                        fast.awaitSent((int) id + 1);
+                }
+                release.countDown();
+
+                assertThat(slowest).isLessThan(Duration.ofSeconds(1));
+                assertThat(fast.await()).isTrue();
+                assertThat(meterRegistry.counter("workflow.events.dropped").count()).isEqualTo(1);
+                assertThat(standalone.subscriberCount()).isEqualTo(1);
+                assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        @Test
+        void subscriberFoundFullByConcurrentPublishers_isDroppedOnce() throws Exception {
+                standalone = newBroadcaster(1);
+                int rounds = 20;
+                int publishers = 4;
+                ExecutorService pool = Executors.newFixedThreadPool(publishers);
+                CountDownLatch release = new CountDownLatch(1);
+                List<BlockingEmitter> emitters = new ArrayList<>();
+
+                try {
+                        for (int round = 0; round < rounds; round++) {
+                                BlockingEmitter slow = new BlockingEmitter(release);
+                                emitters.add(slow);
+                                standalone.register(slow, event -> true);
+                                CountDownLatch start = new CountDownLatch(1);
+                                List<Future<?>> results = new ArrayList<>();
+                                for (int p = 0; p < publishers; p++) {
+                                        long id = p;
+                                        results.add(pool.submit(() -> {
+                                                start.await();
+                                                standalone.publish(transitioned(id, WorkflowStatus.DRAFT, WorkflowStatus.SUBMITTED));
+                                                return null;
+                                        }));
+                                }
+                                start.countDown();
+                                for (Future<?> result : results) {
+                                        result.get();
+                                }
+                        }
+                } finally {
+                        release.countDown();
+                        pool.shutdownNow();
+                }
+
+                assertThat(meterRegistry.counter("workflow.events.dropped").count()).isEqualTo(rounds);
+                for (BlockingEmitter emitter : emitters) {
+                        assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+                        assertThat(emitter.completions.get()).isEqualTo(1);
+                }
+        }
+
+        // ─── GET /api/workflows/events ──────────────────────────────────
+
+        @Test
+        void streamWorksWithJwtAuthentication() throws Exception {
+                AtomicReference<SseEmitter> opened = new AtomicReference<>();
+                doAnswer(invocation -> {
+                        SseEmitter emitter = (SseEmitter) invocation.callRealMethod();
+                        opened.set(emitter);
+                        return emitter;
+                }).when(broadcaster).subscribe(Set.of(WorkflowStatus.SUBMITTED), null);
+                String token = jwtService.generateToken(new User("watcher", "hash", Role.REVIEWER));
+
+                MvcResult result = mockMvc.perform(get("/api/workflows/events")
+                                .param("status", "SUBMITTED")
+                                .header("Authorization", "Bearer " + token))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                broadcaster.publish(transitioned(7L, WorkflowStatus.SUBMITTED, WorkflowStatus.UNDER_REVIEW));
+                broadcaster.publish(transitioned(8L, WorkflowStatus.DRAFT, WorkflowStatus.SUBMITTED));
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (!result.getResponse().getContentAsString().contains("\"workflowId\":8")
+                                && System.nanoTime() < deadline) {
+                        Thread.sleep(10);
+                }
+                opened.get().complete();
+
+                String body = result.getResponse().getContentAsString();
+                assertThat(result.getResponse().getContentType()).startsWith("text/event-stream");
+                assertThat(body).contains("event:workflow.transitioned").contains("\"workflowId\":8");
+                assertThat(body).doesNotContain("\"workflowId\":7");
+
+                // The container re-enters the filter chain when the stream ends
+                mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        }
+
+        @Test
+        void streamRequiresAuthentication() throws Exception {
+                mockMvc.perform(get("/api/workflows/events"))
+                                .andExpect(status().isForbidden());
+        }
+
+        // ─── helpers ────────────────────────────────────────────────────
+
+        private WorkflowEventBroadcaster newBroadcaster(int bufferSize) {
+                return new WorkflowEventBroadcaster(meterRegistry, bufferSize, 2,
+                                Duration.ofMinutes(1), Duration.ofMinutes(1));
+        }
+
+        private static WorkflowEvent transitioned(Long id, WorkflowStatus from, WorkflowStatus to) {
+                return WorkflowEvent.transitioned(id, "standard", from, to, "alice");
+        }
+
+        /** Records each event as the text a client would receive. */
+        private static class RecordingEmitter extends SseEmitter {
+
+                final List<String> sent = new CopyOnWriteArrayList<>();
+                private final CountDownLatch expected;
+
+                RecordingEmitter(int expectedCount) {
+                        this.expected = new CountDownLatch(expectedCount);
+                }
+
+                @Override
+                public void send(SseEventBuilder builder) {
+                        StringBuilder text = new StringBuilder();
+                        builder.build().forEach(part -> text.append(part.getData()));
+                        sent.add(text.toString().replace("\n", ""));
+                        expected.countDown();
+                }
+
+                boolean await() throws InterruptedException {
+                        return expected.await(5, TimeUnit.SECONDS);
+                }
+
+                void awaitSent(int count) throws InterruptedException {
+                        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                        while (sent.size() < count && System.nanoTime() < deadline) {
+                                Thread.sleep(1);
+                        }
+                }
+        }
+
+        /** A client whose connection does not accept data until released. */
+        private static class BlockingEmitter extends SseEmitter {
+
+                final CountDownLatch completed = new CountDownLatch(1);
+                final AtomicInteger completions = new AtomicInteger();
+                private final CountDownLatch release;
+
+                BlockingEmitter(CountDownLatch release) {
+                        this.release = release;
+                }
+
+                @Override
+                public void send(SseEventBuilder builder) throws IOException {
+                        try {
+                                release.await();
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                throw new IOException(e);
+                        }
+                }
+
+                @Override
+                public void complete() {
+                        completions.incrementAndGet();
+                        completed.countDown();
+                }
+        }
+}
@@ -0,0 +1,182 @@
+package com.nit.arwms.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Tests for WorkflowExporter against the real (H2) database, with a small
+ * fetch size so that a few hundred rows span several batches.
+ */
+@SpringBootTest(properties = "workflow.export.fetch-size=50")
+class WorkflowExporterTest {
+
+        private static final LocalDateTime BASE = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+        @Autowired
+        private WorkflowExporter exporter;
+
+        @Autowired
+        private WorkflowRepository workflowRepository;
+
+        @Autowired
+        private WorkflowTransitionRepository transitionRepository;
+
+        @Autowired
+        private TransitionHistoryWriter historyWriter;
+
+        @Autowired
+        private EntityManager entityManager;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @BeforeEach
+        void setUp() {
+                historyWriter.flush();
+                transitionRepository.deleteAll();
+                workflowRepository.deleteAll();
+        }
+
+        private List<Workflow> saveMany(int count) {
+                List<Workflow> workflows = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                        workflows.add(new Workflow(null, "wf-" + i, null,
+                                        i % 2 == 0 ? WorkflowStatus.DRAFT : WorkflowStatus.SUBMITTED, BASE.plusMinutes(i)));
+                }
+                return workflowRepository.saveAll(workflows);
+        }
+
+        private String export(WorkflowFilter filter, WorkflowExportFormat format) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                exporter.export(filter, format, out);
+                return out.toString(StandardCharsets.UTF_8);
+        }
+
+        // ─── NDJSON ─────────────────────────────────────────────────────
+
+        @Test
+        void ndjson_writesOneObjectPerLineInIdOrder() throws Exception {
+                List<Workflow> saved = saveMany(120);
+
+                String[] lines = export(WorkflowFilter.none(), WorkflowExportFormat.NDJSON).split("\n");
+
+                assertThat(lines).hasSize(120);
+                JsonNode first = objectMapper.readTree(lines[0]);
+                assertThat(first.get("id").asLong()).isEqualTo(saved.get(0).getId());
+                assertThat(first.get("title").asText()).isEqualTo("wf-0");
+                assertThat(first.get("description").isNull()).isTrue();
+                assertThat(first.get("type").asText()).isEqualTo("standard");
+                assertThat(first.get("status").asText()).isEqualTo("DRAFT");
+                assertThat(first.get("createdAt").asText()).isEqualTo("2026-03-01T09:00:00");
+                assertThat(objectMapper.readTree(lines[119]).get("id").asLong()).isEqualTo(saved.get(119).getId());
+        }
+
+        @Test
+        void export_appliesFilters() {
+                saveMany(10);
+
+                String ndjson = export(new WorkflowFilter(WorkflowStatus.SUBMITTED, BASE.plusMinutes(4), null),
+                                WorkflowExportFormat.NDJSON);
+
+                assertThat(ndjson.lines()).hasSize(3).allMatch(line -> line.contains("\"status\":\"SUBMITTED\""));
+        }
+
+        // ─── CSV ────────────────────────────────────────────────────────
+
+        @Test
+        void csv_writesHeaderAndQuotesOnlyWhenNeeded() {
+                workflowRepository.save(new Workflow(null, "Plain", null, WorkflowStatus.DRAFT, BASE));
+                workflowRepository.save(new Workflow(null, "Trip, \"Berlin\"", "line one\nline two",
+                                WorkflowStatus.APPROVED, BASE.plusSeconds(30)));
+
+                String csv = export(WorkflowFilter.none(), WorkflowExportFormat.CSV);
+
+                assertThat(csv).startsWith("id,title,description,type,status,createdAt\r\n");
+                assertThat(csv).contains(",Plain,,standard,DRAFT,2026-03-01T09:00:00\r\n");
+                assertThat(csv).contains(",\"Trip, \"\"Berlin\"\"\",\"line one\nline two\",standard,APPROVED,"
+                                + "2026-03-01T09:00:30\r\n");
+        }
+
+        @Test
+        void csv_neutralisesValuesASpreadsheetWouldRunAsFormulas() {
+                workflowRepository.save(new Workflow(null, "=HYPERLINK(\"http://evil\")", "+1+2",
+                                WorkflowStatus.DRAFT, BASE));
+                workflowRepository.save(new Workflow(null, "@SUM(A1)", "-3", WorkflowStatus.DRAFT, BASE));
+                workflowRepository.save(new Workflow(null, "\tTabbed", "\rReturn", WorkflowStatus.DRAFT, BASE));
+                workflowRepository.save(new Workflow(null, "a=b", "e-mail", WorkflowStatus.DRAFT, BASE));
+
+                String csv = export(WorkflowFilter.none(), WorkflowExportFormat.CSV);
+
+                assertThat(csv).contains(",\"'=HYPERLINK(\"\"http://evil\"\")\",'+1+2,standard,");
+                assertThat(csv).contains(",'@SUM(A1),'-3,standard,");
+                assertThat(csv).contains(",'\tTabbed,\"'\rReturn\",standard,");
+                // Only the first character matters
+                assertThat(csv).contains(",a=b,e-mail,standard,");
+        }
+
+        @Test
+        void export_ofEmptyTableWritesOnlyTheHeader() {
+                assertThat(export(WorkflowFilter.none(), WorkflowExportFormat.CSV))
+                                .isEqualTo("id,title,description,type,status,createdAt\r\n");
+                assertThat(export(WorkflowFilter.none(), WorkflowExportFormat.NDJSON)).isEmpty();
+        }
+
+        // ─── constant memory ────────────────────────────────────────────
+
+        @Test
+        void export_neverHoldsMoreThanOneBatchOfEntities() {
+                saveMany(500);
+                PersistenceContextProbe probe = new PersistenceContextProbe();
+
+                long written = exporter.export(WorkflowFilter.none(), WorkflowExportFormat.NDJSON, probe);
+
+                assertThat(written).isEqualTo(500);
+                assertThat(probe.writes).isGreaterThanOrEqualTo(500 / 50);
+                assertThat(probe.maxManagedEntities).isBetween(1, 50);
+        }
+
+        /**
+         * Discards the output, but on every write (which happens inside the
+         * export's transaction) records how many entities the persistence
+         * context holds.
+         */
+        private class PersistenceContextProbe extends OutputStream {
+                int writes;
+                int maxManagedEntities;
+
+                @Override
+                public void write(int b) {
+                        write(new byte[] { (byte) b }, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                        writes++;
+                        int managed = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+                        maxManagedEntities = Math.max(maxManagedEntities, managed);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                        // nothing buffered
+                }
+        }
+}
@@ -0,0 +1,257 @@
+package com.nit.arwms.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.nit.arwms.auth.JwtService;
+import com.nit.arwms.auth.PrincipalCache;
+import com.nit.arwms.auth.Role;
+import com.nit.arwms.auth.User;
+import com.nit.arwms.auth.UserRepository;
+import com.nit.arwms.support.SqlStatementCapture;
+import com.nit.arwms.support.SqlStatementCapture.Captured;
+
+/**
+ * Pins the exact number of SQL statements each endpoint sends, end to end
+ * (real JWT filter, real service, H2), so an N+1 query or an extra lookup
+ * fails the build.
+ *
+ * WorkflowControllerTest mocks WorkflowService and therefore never reaches
+ * the database; these tests complement it. If a count changes on purpose,
+ * update it here — the failure message lists the statements.
+ */
+@SpringBootTest(properties = SqlStatementCapture.PROPERTY)
+@AutoConfigureMockMvc
+class WorkflowQueryCountTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private WorkflowRepository workflowRepository;
+
+        @Autowired
+        private WorkflowTransitionRepository transitionRepository;
+
+        @Autowired
+        private TransitionHistoryWriter historyWriter;
+
+        @Autowired
+        private WorkflowResponseCache responseCache;
+
+        @Autowired
+        private WorkflowSearchIndex searchIndex;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private PrincipalCache principalCache;
+
+        @Autowired
+        private JwtService jwtService;
+
+        @Autowired
+        private PasswordEncoder passwordEncoder;
+
+        private String token;
+
+        @BeforeEach
+        void setUp() throws Exception {
+                historyWriter.flush();
+                transitionRepository.deleteAll();
+                workflowRepository.deleteAll();
+                userRepository.deleteAll();
+                responseCache.evictAll();
+                principalCache.evictAll();
+
+                User user = userRepository.save(new User("alice", passwordEncoder.encode("secret123"), Role.REQUESTER));
+                token = jwtService.generateToken(user);
+                // Warm the principal cache so each test counts only its own endpoint
+                perform(get("/api/workflows"), status().isOk());
+        }
+
+        private Workflow save(String title) {
+                return workflowRepository.save(new Workflow(null, title, null, WorkflowStatus.DRAFT, LocalDateTime.now()));
+        }
+
+        private Captured perform(MockHttpServletRequestBuilder request, ResultMatcher expected) throws Exception {
+                return SqlStatementCapture.capture(() -> mockMvc
+                                .perform(request.header("Authorization", "Bearer " + token))
+                                .andExpect(expected));
+        }
+
+        private static void assertStatements(Captured captured, int expected) {
+                assertThat(captured.queries()).as(captured.toString()).hasSize(expected);
+        }
+
+        // ─── JWT filter ─────────────────────────────────────────────────
+
+        @Test
+        void jwtFilter_loadsUserOnlyOnCacheMiss() throws Exception {
+                principalCache.evictAll();
+
+                assertStatements(perform(get("/api/workflows"), status().isOk()), 2);
+                assertStatements(perform(get("/api/workflows"), status().isOk()), 1);
+        }
+
+        // ─── GET /api/workflows ─────────────────────────────────────────
+
+        @Test
+        void list_isOneSelectWhateverThePageSize() throws Exception {
+                for (int i = 0; i < 30; i++) {
+                        save("wf-" + i);
+                }
+
+                assertStatements(perform(get("/api/workflows").param("size", "5"), status().isOk()), 1);
+                assertStatements(perform(get("/api/workflows").param("size", "30"), status().isOk()), 1);
+        }
+
+        @Test
+        void list_notModifiedRunsNoQuery() throws Exception {
+                String etag = mockMvc.perform(get("/api/workflows").header("Authorization", "Bearer " + token))
+                                .andReturn().getResponse().getHeader("ETag");
+
+                assertStatements(perform(get("/api/workflows").header("If-None-Match", etag),
+                                status().isNotModified()), 0);
+        }
+
+        @Test
+        void changes_isOneSelect() throws Exception {
+                assertStatements(perform(get("/api/workflows/changes"), status().isOk()), 1);
+        }
+
+        @Test
+        void summary_runsNoQuery() throws Exception {
+                save("wf");
+
+                assertStatements(perform(get("/api/workflows/summary"), status().isOk()), 0);
+        }
+
+        @Test
+        void search_isOneSelectForTheTopMatches() throws Exception {
+                searchIndex.rebuild();
+                for (int i = 0; i < 30; i++) {
+                        perform(post("/api/workflows")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content("{\"title\": \"Expense " + i + "\"}"), status().isCreated());
+                }
+
+                // ranking comes from the index; one SELECT ... IN loads the page
+                assertStatements(perform(get("/api/workflows/search").param("q", "expense").param("limit", "10"),
+                                status().isOk()), 1);
+                assertStatements(perform(get("/api/workflows/search").param("q", "nothing"), status().isOk()), 0);
+        }
+
+        @Test
+        void export_isOneSelectWhateverTheRowCount() throws Exception {
+                for (int i = 0; i < 30; i++) {
+                        save("wf-" + i);
+                }
+
+                assertStatements(perform(get("/api/workflows/export"), status().isOk()), 1);
+                assertStatements(perform(get("/api/workflows/export").param("format", "CSV"), status().isOk()), 1);
+        }
+
+        // ─── GET /api/workflows/{id} ────────────────────────────────────
+
+        @Test
+        void getById_selectsOnceThenServesFromCache() throws Exception {
+                Workflow wf = save("wf");
+
+                assertStatements(perform(get("/api/workflows/" + wf.getId()), status().isOk()), 1);
+                assertStatements(perform(get("/api/workflows/" + wf.getId()), status().isOk()), 0);
+        }
+
+        @Test
+        void getById_conditionalOnColdCacheSelectsOnlyTheVersion() throws Exception {
+                Workflow wf = save("wf");
+
+                Captured captured = perform(get("/api/workflows/" + wf.getId())
+                                .header("If-None-Match", "\"" + wf.getId() + "-" + wf.getVersion() + "\""),
+                                status().isNotModified());
+                assertStatements(captured, 1);
+                assertThat(captured.queries().get(0)).doesNotContain("title");
+        }
+
+        @Test
+        void transitionHistory_isTwoSelects() throws Exception {
+                Workflow wf = save("wf");
+
+                // existence check + history rows
+                assertStatements(perform(get("/api/workflows/" + wf.getId() + "/transitions"), status().isOk()), 2);
+        }
+
+        // ─── writes ─────────────────────────────────────────────────────
+
+        @Test
+        void create_isOneInsert() throws Exception {
+                Captured captured = perform(post("/api/workflows")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"title\": \"New\"}"), status().isCreated());
+
+                assertStatements(captured, 1);
+                assertThat(captured.ofKind("insert")).hasSize(1);
+        }
+
+        @Test
+        void bulkCreate_isOneBatchedInsert() throws Exception {
+                Captured captured = perform(post("/api/workflows/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"items\": [{\"title\": \"a\"}, {\"title\": \"b\"}, {\"title\": \"c\"}]}"),
+                                status().isCreated());
+
+                // One statement prepared, all rows sent with it as one JDBC batch
+                assertStatements(captured, 1);
+                assertThat(captured.ofKind("insert")).hasSize(1);
+        }
+
+        @Test
+        void transition_isOneCompareAndSetThenOneSelect() throws Exception {
+                Workflow wf = save("wf");
+
+                Captured captured = perform(patch("/api/workflows/" + wf.getId() + "/transition")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"targetStatus\": \"SUBMITTED\", \"role\": \"REQUESTER\"}"),
+                                status().isOk());
+
+                // The UPDATE decides; the SELECT after it only builds the response
+                assertStatements(captured, 2);
+                assertThat(captured.queries().get(0)).startsWithIgnoringCase("update");
+                assertThat(captured.queries().get(1)).startsWithIgnoringCase("select");
+        }
+
+        // ─── /api/auth ──────────────────────────────────────────────────
+
+        @Test
+        void login_isOneSelect() throws Exception {
+                assertStatements(perform(post("/api/auth/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"username\": \"alice\", \"password\": \"secret123\"}"),
+                                status().isOk()), 1);
+        }
+
+        @Test
+        void register_isExistenceCheckAndInsert() throws Exception {
+                assertStatements(perform(post("/api/auth/register")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"username\": \"bob\", \"password\": \"secret123\", \"role\": \"REVIEWER\"}"),
+                                status().isCreated()), 2);
+        }
+}
@@ -0,0 +1,132 @@
+package com.nit.arwms.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import com.nit.arwms.workflow.WorkflowBatchRepository.StatusChange;
+
+/**
+ * Tests for the custom finders in WorkflowRepository.
+ *
+ * @DataJpaTest starts only the JPA layer (no web, no security) against
+ * an embedded H2 database, and rolls back after each test.
+ */
+@DataJpaTest
+class WorkflowRepositoryTest {
+
+        @Autowired
+        private WorkflowRepository workflowRepository;
+
+        @Autowired
+        private DataSource dataSource;
+
+        private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+        @BeforeEach
+        void setUp() {
+                save("draft-old", WorkflowStatus.DRAFT, BASE.minusDays(2));
+                save("draft-new", WorkflowStatus.DRAFT, BASE.plusHours(1));
+                save("submitted-old", WorkflowStatus.SUBMITTED, BASE.minusDays(1));
+                save("submitted-new", WorkflowStatus.SUBMITTED, BASE.plusHours(2));
+        }
+
+        private Workflow save(String title, WorkflowStatus status, LocalDateTime createdAt) {
+                return workflowRepository.save(new Workflow(null, title, null, status, createdAt));
+        }
+
+        @Test
+        void findByStatus_returnsNewestFirstUpToLimit() {
+                assertThat(workflowRepository.findByStatus(WorkflowStatus.SUBMITTED, Limit.of(10)))
+                                .extracting(Workflow::getTitle)
+                                .containsExactly("submitted-new", "submitted-old");
+
+                assertThat(workflowRepository.findByStatus(WorkflowStatus.SUBMITTED, Limit.of(1)))
+                                .extracting(Workflow::getTitle)
+                                .containsExactly("submitted-new");
+        }
+
+        @Test
+        void findByStatusSince_excludesOlderRows() {
+                assertThat(workflowRepository.findByStatusSince(WorkflowStatus.DRAFT, BASE, Limit.of(10)))
+                                .extracting(Workflow::getTitle)
+                                .containsExactly("draft-new");
+        }
+
+        @Test
+        void findCreatedBetween_isHalfOpen() {
+                assertThat(workflowRepository.findCreatedBetween(BASE.minusDays(1), BASE.plusHours(2), Limit.of(10)))
+                                .extracting(Workflow::getTitle)
+                                .containsExactly("draft-new", "submitted-old");
+        }
+
+        @Test
+        void countByStatus_countsOnlyThatStatus() {
+                assertThat(workflowRepository.countByStatus(WorkflowStatus.DRAFT)).isEqualTo(2);
+                assertThat(workflowRepository.countByStatus(WorkflowStatus.APPROVED)).isZero();
+        }
+
+        @Test
+        void compareAndSetStatuses_readsBackOutcomesTheDriverDidNotReport() {
+                Workflow draft = save("draft", WorkflowStatus.DRAFT, BASE);
+                Workflow submitted = save("submitted", WorkflowStatus.SUBMITTED, BASE);
+                workflowRepository.flush();
+
+                // Like MySQL with rewriteBatchedStatements: no per-row counts
+                JdbcTemplate noInfo = new JdbcTemplate(dataSource) {
+                        @Override
+                        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                        ParameterizedPreparedStatementSetter<T> pss) {
+                                int[][] counts = super.batchUpdate(sql, batchArgs, batchSize, pss);
+                                for (int[] batch : counts) {
+                                        Arrays.fill(batch, Statement.SUCCESS_NO_INFO);
+                                }
+                                return counts;
+                        }
+                };
+                WorkflowBatchRepository batchRepository = new WorkflowBatchRepositoryImpl(noInfo);
+
+                int[] counts = batchRepository.compareAndSetStatuses(List.of(
+                                new StatusChange(draft.getId(), WorkflowStatus.DRAFT, draft.getVersion(),
+                                                WorkflowStatus.SUBMITTED),
+                                new StatusChange(submitted.getId(), WorkflowStatus.DRAFT, submitted.getVersion() + 1,
+                                                WorkflowStatus.SUBMITTED),
+                                // Same workflow again: its version no longer matches
+                                new StatusChange(draft.getId(), WorkflowStatus.DRAFT, draft.getVersion(),
+                                                WorkflowStatus.SUBMITTED)),
+                                1_000_000);
+
+                assertThat(counts).containsExactly(1, 0, 0);
+        }
+
+        @Test
+        void compareAndSetStatuses_rejectsAWorkflowThatChangedAndCameBackToTheSameStatus() {
+                Workflow wf = save("wf", WorkflowStatus.DRAFT, BASE);
+                workflowRepository.flush();
+                long versionRead = wf.getVersion();
+
+                // DRAFT -> SUBMITTED -> DRAFT behind the reader's back
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+                jdbcTemplate.update("UPDATE workflows SET version = version + 2 WHERE id = ?", wf.getId());
+
+                int[] counts = new WorkflowBatchRepositoryImpl(jdbcTemplate).compareAndSetStatuses(List.of(
+                                new StatusChange(wf.getId(), WorkflowStatus.DRAFT, versionRead, WorkflowStatus.SUBMITTED)),
+                                1_000_000);
+
+                assertThat(counts).containsExactly(0);
+        }
+}
@@ -0,0 +1,151 @@
+package com.nit.arwms.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Plain unit tests for WorkflowSearchIndex (no Spring context or database:
+ * outside a transaction, addAfterCommit applies immediately).
+ */
+class WorkflowSearchIndexTest {
+
+        private final WorkflowSearchIndex index = new WorkflowSearchIndex();
+        private long nextId = 1;
+
+        private long add(String title, String description) {
+                return add(title, description, WorkflowStatus.DRAFT);
+        }
+
+        private long add(String title, String description, WorkflowStatus status) {
+                long id = nextId++;
+                index.addAfterCommit(List.of(new Workflow(id, title, description, status, LocalDateTime.now())));
+                return id;
+        }
+
+        private List<Long> search(String query) {
+                return index.search(query, null, 10).ids();
+        }
+
+        // ─── matching ───────────────────────────────────────────────────
+
+        @Test
+        void tokenize_lowerCasesAndSplitsOnAnythingButLettersAndDigits() {
+                assertThat(WorkflowSearchIndex.tokenize("Leave-Request: Q3 (2026) leave Café"))
+                                .containsExactly("leave", "request", "q3", "2026", "café");
+                assertThat(WorkflowSearchIndex.tokenize("  --  ")).isEmpty();
+                assertThat(WorkflowSearchIndex.tokenize(null)).isEmpty();
+        }
+
+        @Test
+        void search_matchesWordsAsPrefixesInTitleOrDescription() {
+                long leave = add("Leave request", "Two weeks in August");
+                long laptop = add("New laptop", "Replacement for broken leaves of the keyboard");
+                add("Conference travel", null);
+
+                assertThat(search("leav")).containsExactlyInAnyOrder(leave, laptop);
+                assertThat(search("AUGUST")).containsExactly(leave);
+                assertThat(search("budget")).isEmpty();
+        }
+
+        @Test
+        void search_requiresEveryWord() {
+                long both = add("Leave request", "August");
+                long other = add("Leave request", "December");
+
+                assertThat(search("leave request")).containsExactly(other, both);
+                assertThat(search("leave aug")).containsExactly(both);
+                assertThat(search("leave aug missing")).isEmpty();
+        }
+
+        @Test
+        void search_onlyMatchesWholeWordsForSingleCharacters() {
+                long q = add("Plan for q", null);
+                add("Quarterly plan", null);
+
+                assertThat(search("q")).containsExactly(q);
+                assertThat(search("qu")).hasSize(1).doesNotContain(q);
+        }
+
+        @Test
+        void search_ignoresQueriesWithoutWords() {
+                add("Leave request", null);
+
+                assertThat(index.search("  !? ", null, 10)).isEqualTo(new WorkflowSearchIndex.Hits(List.of(), 0));
+                assertThat(index.search(null, null, 10).ids()).isEmpty();
+        }
+
+        // ─── ranking ────────────────────────────────────────────────────
+
+        @Test
+        void search_ranksTitleAndWholeWordMatchesFirstThenNewest() {
+                long descriptionPrefix = add("Other", "budgeting");
+                long descriptionWord = add("Other", "budget");
+                long titlePrefix = add("Budgeting", null);
+                long titleWordOld = add("Budget", null);
+                long titleWordNew = add("Budget 2027", null);
+
+                assertThat(search("budget")).containsExactly(
+                                titleWordNew, titleWordOld, titlePrefix, descriptionWord, descriptionPrefix);
+        }
+
+        @Test
+        void search_returnsTopKButCountsEveryMatch() {
+                List<Long> ids = new ArrayList<>();
+                for (int i = 0; i < 50; i++) {
+                        ids.add(add("Expense report " + i, null));
+                }
+
+                WorkflowSearchIndex.Hits hits = index.search("expense", null, 5);
+
+                assertThat(hits.total()).isEqualTo(50);
+                assertThat(hits.ids()).containsExactly(ids.get(49), ids.get(48), ids.get(47), ids.get(46), ids.get(45));
+        }
+
+        @Test
+        void search_combinesRareAndCommonWords() {
+                // Many matches for the common word, so the rare one is checked by lookup, not by merging
+                long target = 0;
+                for (int i = 0; i < 2000; i++) {
+                        long id = add("Expense report", i == 1234 ? "urgent" : "routine");
+                        if (i == 1234) {
+                                target = id;
+                        }
+                }
+
+                assertThat(search("exp urgent")).containsExactly(target);
+                assertThat(index.search("report routine", null, 10).total()).isEqualTo(1999);
+        }
+
+        // ─── status ─────────────────────────────────────────────────────
+
+        @Test
+        void search_filtersByCurrentStatus() {
+                long draft = add("Leave request", null, WorkflowStatus.DRAFT);
+                long submitted = add("Leave request", null, WorkflowStatus.SUBMITTED);
+
+                assertThat(index.search("leave", Set.of(WorkflowStatus.SUBMITTED), 10).ids()).containsExactly(submitted);
+
+                index.statusChangedAfterCommit(draft, WorkflowStatus.SUBMITTED);
+                index.statusChangedAfterCommit(submitted, WorkflowStatus.UNDER_REVIEW);
+                index.statusChangedAfterCommit(999L, WorkflowStatus.APPROVED);
+
+                assertThat(index.search("leave", Set.of(WorkflowStatus.SUBMITTED), 10).ids()).containsExactly(draft);
+                assertThat(index.search("leave", Set.of(), 10).ids()).containsExactly(submitted, draft);
+        }
+
+        @Test
+        void addAfterCommit_indexesEachWorkflowOnce() {
+                Workflow workflow = new Workflow(1L, "Leave", null, WorkflowStatus.DRAFT, LocalDateTime.now());
+                index.addAfterCommit(List.of(workflow));
+                index.addAfterCommit(List.of(workflow));
+
+                assertThat(index.size()).isEqualTo(1);
+                assertThat(search("leave")).containsExactly(1L);
+        }
+}
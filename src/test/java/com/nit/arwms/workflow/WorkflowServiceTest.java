@@ -0,0 +1,685 @@
+package com.nit.arwms.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nit.arwms.exception.ConcurrentTransitionException;
+import com.nit.arwms.exception.InvalidCursorException;
+import com.nit.arwms.exception.InvalidTransitionException;
+import com.nit.arwms.exception.UnknownWorkflowTypeException;
+import com.nit.arwms.exception.WorkflowNotFoundException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Service tests against the real (H2) database.
+ *
+ * Unlike WorkflowControllerTest, nothing is mocked here: these tests check
+ * that the queries WorkflowService sends actually return the right rows.
+ */
+@SpringBootTest
+class WorkflowServiceTest {
+
+        @Autowired
+        private WorkflowService workflowService;
+
+        @Autowired
+        private WorkflowRepository workflowRepository;
+
+        @Autowired
+        private WorkflowTransitionRepository transitionRepository;
+
+        @Autowired
+        private TransitionHistoryWriter historyWriter;
+
+        @Autowired
+        private WorkflowResponseCache responseCache;
+
+        @Autowired
+        private WorkflowStatusCounts statusCounts;
+
+        @Autowired
+        private WorkflowSearchIndex searchIndex;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+        private static final Set<String> STANDARD = Set.of(WorkflowEngine.DEFAULT_TYPE);
+
+        @BeforeEach
+        void setUp() {
+                historyWriter.flush();
+                transitionRepository.deleteAll();
+                workflowRepository.deleteAll();
+                responseCache.evictAll();
+                statusCounts.reconcile();
+                searchIndex.rebuild();
+        }
+
+        private Workflow save(String title, WorkflowStatus status, LocalDateTime createdAt) {
+                return workflowRepository.save(new Workflow(null, title, null, status, createdAt));
+        }
+
+        // ─── getAllWorkflows (keyset pagination) ────────────────────────
+
+        @Test
+        void getAllWorkflows_walksEveryRowExactlyOnceNewestFirst() {
+                for (int i = 0; i < 7; i++) {
+                        // Two rows share each timestamp, so the id tie-breaker matters
+                        save("wf-" + i, WorkflowStatus.DRAFT, BASE.plusMinutes(i / 2));
+                }
+
+                List<String> titles = new ArrayList<>();
+                String cursor = null;
+                int pages = 0;
+                do {
+                        WorkflowPage page = workflowService.getAllWorkflows(WorkflowFilter.none(), cursor, 3);
+                        page.items().forEach(wf -> titles.add(wf.title()));
+                        cursor = page.nextCursor();
+                        pages++;
+                } while (cursor != null);
+
+                assertThat(pages).isEqualTo(3);
+                assertThat(titles).containsExactly("wf-6", "wf-5", "wf-4", "wf-3", "wf-2", "wf-1", "wf-0");
+        }
+
+        @Test
+        void getAllWorkflows_appliesStatusAndDateFilters() {
+                save("old-draft", WorkflowStatus.DRAFT, BASE.minusDays(1));
+                save("new-draft", WorkflowStatus.DRAFT, BASE.plusHours(1));
+                save("new-submitted", WorkflowStatus.SUBMITTED, BASE.plusHours(2));
+
+                WorkflowPage page = workflowService.getAllWorkflows(
+                                new WorkflowFilter(WorkflowStatus.DRAFT, BASE, null), null, null);
+
+                assertThat(page.items()).extracting(WorkflowResponse::title).containsExactly("new-draft");
+                assertThat(page.nextCursor()).isNull();
+        }
+
+        @Test
+        void getAllWorkflows_clampsPageSize() {
+                for (int i = 0; i < WorkflowService.MAX_PAGE_SIZE + 5; i++) {
+                        save("wf-" + i, WorkflowStatus.DRAFT, BASE.plusSeconds(i));
+                }
+
+                WorkflowPage page = workflowService.getAllWorkflows(WorkflowFilter.none(), null, 10_000);
+
+                assertThat(page.items()).hasSize(WorkflowService.MAX_PAGE_SIZE);
+                assertThat(page.nextCursor()).isNotNull();
+        }
+
+        @Test
+        void getAllWorkflows_rejectsMalformedCursor() {
+                assertThatThrownBy(() -> workflowService.getAllWorkflows(WorkflowFilter.none(), "not-a-cursor", null))
+                                .isInstanceOf(InvalidCursorException.class);
+        }
+
+        // ─── createWorkflows (bulk) ─────────────────────────────────────
+
+        @Test
+        void createWorkflows_insertsAllAsDraftsInOrder() {
+                List<WorkflowRequest> requests = new ArrayList<>();
+                for (int i = 0; i < 120; i++) {
+                        requests.add(new WorkflowRequest("wf-" + i, null));
+                }
+
+                List<WorkflowResponse> created = workflowService.createWorkflows(requests);
+
+                assertThat(created).hasSize(120);
+                assertThat(created.get(0).title()).isEqualTo("wf-0");
+                assertThat(created).allSatisfy(wf -> {
+                        assertThat(wf.id()).isNotNull();
+                        assertThat(wf.status()).isEqualTo("DRAFT");
+                });
+                assertThat(workflowRepository.count()).isEqualTo(120);
+        }
+
+        // ─── findById (response cache) ──────────────────────────────────
+
+        @Test
+        void findById_servesCachedResponseUntilTransition() {
+                Workflow wf = save("wf", WorkflowStatus.DRAFT, BASE);
+                assertThat(workflowService.findById(wf.getId()).status()).isEqualTo("DRAFT");
+
+                // A change behind the service's back is not seen: the read is cached
+                workflowRepository.compareAndSetStatus(wf.getId(), WorkflowStatus.DRAFT, STANDARD,
+                                WorkflowStatus.SUBMITTED, -1);
+                assertThat(workflowService.findById(wf.getId()).status()).isEqualTo("DRAFT");
+
+                // A transition through the service evicts it
+                workflowService.transitionWorkflow(wf.getId(),
+                                new WorkflowTransitionRequest(WorkflowStatus.UNDER_REVIEW, "REVIEWER"));
+                assertThat(workflowService.findById(wf.getId()).status()).isEqualTo("UNDER_REVIEW");
+        }
+
+        @Test
+        void findById_neverCachesRolledBackTransition() {
+                Workflow wf = save("wf", WorkflowStatus.DRAFT, BASE);
+
+                new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+                        workflowRepository.compareAndSetStatus(wf.getId(), WorkflowStatus.DRAFT, STANDARD,
+                                        WorkflowStatus.SUBMITTED, -1);
+                        // Sees its own uncommitted change, but must not cache it
+                        assertThat(workflowService.findById(wf.getId()).status()).isEqualTo("SUBMITTED");
+                        tx.setRollbackOnly();
+                });
+
+                assertThat(workflowService.findById(wf.getId()).status()).isEqualTo("DRAFT");
+        }
+
+        @Test
+        void createWorkflow_isCachedAfterCommit() {
+                WorkflowResponse created = workflowService.createWorkflow(new WorkflowRequest("wf", null));
+                workflowRepository.deleteAll();
+
+                assertThat(workflowService.findById(created.id())).isEqualTo(created);
+        }
+
+        // ─── metrics ────────────────────────────────────────────────────
+
+        @Test
+        void transitions_areCountedPerEdgeAndRejectionReason() {
+                Workflow wf = save("wf", WorkflowStatus.DRAFT, BASE);
+                double submitted = meterRegistry.counter("workflow.transitions",
+                                "type", "standard", "from", "DRAFT", "to", "SUBMITTED").count();
+                double invalid = meterRegistry.counter("workflow.transitions.rejected",
+                                "reason", "INVALID_TRANSITION").count();
+                double notFound = meterRegistry.counter("workflow.transitions.rejected",
+                                "reason", "NOT_FOUND").count();
+                long timed = meterRegistry.timer("workflow.service", "method", "transitionWorkflow").count();
+
+                workflowService.transitionWorkflow(wf.getId(),
+                                new WorkflowTransitionRequest(WorkflowStatus.SUBMITTED, "REQUESTER"));
+                assertThatThrownBy(() -> workflowService.transitionWorkflow(wf.getId(),
+                                new WorkflowTransitionRequest(WorkflowStatus.APPROVED, "APPROVER")))
+                                .isInstanceOf(InvalidTransitionException.class);
+                workflowService.transitionWorkflows(new BulkTransitionRequest(
+                                List.of(new BulkTransitionRequest.Item(-1L, WorkflowStatus.SUBMITTED)), "REQUESTER"));
+
+                assertThat(meterRegistry.counter("workflow.transitions",
+                                "type", "standard", "from", "DRAFT", "to", "SUBMITTED").count())
+                                .isEqualTo(submitted + 1);
+                assertThat(meterRegistry.counter("workflow.transitions.rejected",
+                                "reason", "INVALID_TRANSITION").count()).isEqualTo(invalid + 1);
+                assertThat(meterRegistry.counter("workflow.transitions.rejected",
+                                "reason", "NOT_FOUND").count()).isEqualTo(notFound + 1);
+                assertThat(meterRegistry.timer("workflow.service", "method", "transitionWorkflow").count())
+                                .isEqualTo(timed + 2);
+        }
+
+        // ─── status summary ─────────────────────────────────────────────
+
+        @Test
+        void statusSummary_followsCreatesAndTransitions() {
+                WorkflowResponse wf = workflowService.createWorkflow(new WorkflowRequest("wf", null));
+                List<WorkflowResponse> bulk = workflowService.createWorkflows(List.of(
+                                new WorkflowRequest("a", null), new WorkflowRequest("b", null)));
+                workflowService.transitionWorkflow(wf.id(),
+                                new WorkflowTransitionRequest(WorkflowStatus.SUBMITTED, "REQUESTER"));
+                workflowService.transitionWorkflows(new BulkTransitionRequest(List.of(
+                                new BulkTransitionRequest.Item(wf.id(), WorkflowStatus.UNDER_REVIEW),
+                                new BulkTransitionRequest.Item(bulk.get(0).id(), WorkflowStatus.UNDER_REVIEW)),
+                                "REVIEWER"));
+
+                WorkflowStatusSummary summary = workflowService.getStatusSummary();
+
+                // bulk.get(0) is still a DRAFT: its item failed with INVALID_TRANSITION
+                assertThat(summary.counts()).containsEntry(WorkflowStatus.DRAFT, 2L)
+                                .containsEntry(WorkflowStatus.SUBMITTED, 0L)
+                                .containsEntry(WorkflowStatus.UNDER_REVIEW, 1L)
+                                .containsEntry(WorkflowStatus.APPROVED, 0L)
+                                .hasSize(WorkflowStatus.values().length);
+                assertThat(summary.total()).isEqualTo(3);
+                assertThat(summary.counts()).isEqualTo(countedInDatabase());
+        }
+
+        @Test
+        void statusSummary_ignoresRolledBackWrites() {
+                Workflow wf = save("wf", WorkflowStatus.DRAFT, BASE);
+                statusCounts.reconcile();
+
+                new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+                        workflowService.createWorkflow(new WorkflowRequest("rolled-back", null));
+                        workflowService.transitionWorkflow(wf.getId(),
+                                        new WorkflowTransitionRequest(WorkflowStatus.SUBMITTED, "REQUESTER"));
+                        tx.setRollbackOnly();
+                });
+
+                assertThat(workflowService.getStatusSummary().counts())
+                                .containsEntry(WorkflowStatus.DRAFT, 1L)
+                                .containsEntry(WorkflowStatus.SUBMITTED, 0L);
+        }
+
+        @Test
+        void statusCounts_reconcilePicksUpWritesThatBypassedTheService() {
+                save("a", WorkflowStatus.APPROVED, BASE);
+                save("b", WorkflowStatus.APPROVED, BASE);
+                assertThat(workflowService.getStatusSummary().total()).isZero();
+
+                statusCounts.reconcile();
+
+                assertThat(workflowService.getStatusSummary().counts()).containsEntry(WorkflowStatus.APPROVED, 2L);
+        }
+
+        private Map<WorkflowStatus, Long> countedInDatabase() {
+                Map<WorkflowStatus, Long> counts = new EnumMap<>(WorkflowStatus.class);
+                for (WorkflowStatus status : WorkflowStatus.values()) {
+                        counts.put(status, workflowRepository.countByStatus(status));
+                }
+                return counts;
+        }
+
+        // ─── search ─────────────────────────────────────────────────────
+
+        @Test
+        void search_findsCommittedWorkflowsBestFirst() {
+                WorkflowResponse leave = workflowService.createWorkflow(
+                                new WorkflowRequest("Leave request", "Two weeks in August"));
+                List<WorkflowResponse> bulk = workflowService.createWorkflows(List.of(
+                                new WorkflowRequest("Laptop", "Needed before leave"),
+                                new WorkflowRequest("Travel", null)));
+
+                WorkflowSearchResponse result = workflowService.search("leav", null, null);
+
+                assertThat(result.items()).extracting(WorkflowResponse::id)
+                                .containsExactly(leave.id(), bulk.get(0).id());
+                assertThat(result.total()).isEqualTo(2);
+        }
+
+        @Test
+        void search_filtersByStatusAfterTransitions() {
+                WorkflowResponse first = workflowService.createWorkflow(new WorkflowRequest("Leave request", null));
+                WorkflowResponse second = workflowService.createWorkflow(new WorkflowRequest("Leave request", null));
+                workflowService.transitionWorkflow(first.id(),
+                                new WorkflowTransitionRequest(WorkflowStatus.SUBMITTED, "REQUESTER"));
+                workflowService.transitionWorkflows(new BulkTransitionRequest(List.of(
+                                new BulkTransitionRequest.Item(second.id(), WorkflowStatus.SUBMITTED)), "REQUESTER"));
+                workflowService.transitionWorkflow(second.id(),
+                                new WorkflowTransitionRequest(WorkflowStatus.UNDER_REVIEW, "REVIEWER"));
+
+                assertThat(workflowService.search("leave", Set.of(WorkflowStatus.SUBMITTED), null).items())
+                                .extracting(WorkflowResponse::id).containsExactly(first.id());
+                assertThat(workflowService.search("leave", Set.of(WorkflowStatus.UNDER_REVIEW), null).items())
+                                .extracting(WorkflowResponse::status).containsExactly("UNDER_REVIEW");
+        }
+
+        @Test
+        void search_ignoresRolledBackCreatesAndClampsLimit() {
+                new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+                        workflowService.createWorkflow(new WorkflowRequest("Rolled back", null));
+                        tx.setRollbackOnly();
+                });
+                List<WorkflowRequest> requests = new ArrayList<>();
+                for (int i = 0; i < WorkflowService.MAX_SEARCH_LIMIT + 5; i++) {
+                        requests.add(new WorkflowRequest("Expense " + i, null));
+                }
+                workflowService.createWorkflows(requests);
+
+                assertThat(workflowService.search("rolled", null, null).total()).isZero();
+                WorkflowSearchResponse result = workflowService.search("expense", null, 10_000);
+                assertThat(result.items()).hasSize(WorkflowService.MAX_SEARCH_LIMIT);
+                assertThat(result.total()).isEqualTo(WorkflowService.MAX_SEARCH_LIMIT + 5);
+        }
+
+        @Test
+        void searchIndex_rebuildPicksUpExistingRows() {
+                Workflow saved = save("Quarterly budget", WorkflowStatus.APPROVED, BASE);
+                assertThat(workflowService.search("budget", null, null).items()).isEmpty();
+
+                searchIndex.rebuild();
+
+                assertThat(workflowService.search("budget", Set.of(WorkflowStatus.APPROVED), null).items())
+                                .extracting(WorkflowResponse::id).containsExactly(saved.getId());
+        }
+
+        // ─── change feed ────────────────────────────────────────────────
+
+        @Test
+        void getChanges_returnsOnlyWhatChangedSinceCursor() {
+                WorkflowResponse first = workflowService.createWorkflow(new WorkflowRequest("first", null));
+                WorkflowResponse second = workflowService.createWorkflow(new WorkflowRequest("second", null));
+
+                WorkflowChangePage initial = workflowService.getChanges(null, null);
+                assertThat(initial.items()).extracting(WorkflowResponse::title).containsExactly("first", "second");
+                assertThat(initial.hasMore()).isFalse();
+
+                workflowService.transitionWorkflow(first.id(),
+                                new WorkflowTransitionRequest(WorkflowStatus.SUBMITTED, "REQUESTER"));
+                WorkflowChangePage delta = workflowService.getChanges(initial.nextCursor(), null);
+                assertThat(delta.items()).extracting(WorkflowResponse::id).containsExactly(first.id());
+                assertThat(delta.items().get(0).status()).isEqualTo("SUBMITTED");
+
+                // Nothing new: empty page, same position
+                WorkflowChangePage idle = workflowService.getChanges(delta.nextCursor(), null);
+                assertThat(idle.items()).isEmpty();
+                assertThat(idle.nextCursor()).isEqualTo(delta.nextCursor());
+                assertThat(second.id()).isNotNull();
+        }
+
+        @Test
+        void getChanges_pagesThroughBulkChanges() {
+                workflowService.createWorkflows(List.of(new WorkflowRequest("a", null), new WorkflowRequest("b", null),
+                                new WorkflowRequest("c", null), new WorkflowRequest("d", null),
+                                new WorkflowRequest("e", null)));
+
+                List<String> titles = new ArrayList<>();
+                List<Boolean> hasMore = new ArrayList<>();
+                String cursor = null;
+                WorkflowChangePage page;
+                do {
+                        page = workflowService.getChanges(cursor, 2);
+                        page.items().forEach(item -> titles.add(item.title()));
+                        hasMore.add(page.hasMore());
+                        cursor = page.nextCursor();
+                } while (page.hasMore());
+
+                assertThat(titles).containsExactly("a", "b", "c", "d", "e");
+                assertThat(hasMore).containsExactly(true, true, false);
+        }
+
+        @Test
+        void getChanges_neverSkipsAChangeThatCommitsLate() throws Exception {
+                String start = workflowService.getChanges(null, null).nextCursor();
+                CountDownLatch created = new CountDownLatch(1);
+                CountDownLatch commit = new CountDownLatch(1);
+                ExecutorService pool = Executors.newSingleThreadExecutor();
+                try {
+                        // Takes the lower change number, then commits after the other one
+                        Future<?> slow = pool.submit(() -> new TransactionTemplate(transactionManager)
+                                        .executeWithoutResult(tx -> {
+                                                workflowService.createWorkflow(new WorkflowRequest("slow", null));
+                                                created.countDown();
+                                                await(commit);
+                                        }));
+                        await(created);
+                        workflowService.createWorkflow(new WorkflowRequest("fast", null));
+
+                        // "fast" is committed but must wait for "slow", or a consumer
+                        // storing the cursor after "fast" would never see "slow"
+                        WorkflowChangePage held = workflowService.getChanges(start, null);
+                        assertThat(held.items()).isEmpty();
+                        assertThat(held.nextCursor()).isEqualTo(start);
+
+                        commit.countDown();
+                        slow.get();
+                } finally {
+                        pool.shutdown();
+                }
+
+                assertThat(workflowService.getChanges(start, null).items())
+                                .extracting(WorkflowResponse::title).containsExactly("slow", "fast");
+        }
+
+        @Test
+        void getChanges_rejectsMalformedCursor() {
+                assertThatThrownBy(() -> workflowService.getChanges("not-a-cursor", null))
+                                .isInstanceOf(InvalidCursorException.class);
+                String listCursor = WorkflowCursor.of(save("wf", WorkflowStatus.DRAFT, BASE)).encode();
+                assertThatThrownBy(() -> workflowService.getChanges(listCursor, null))
+                                .isInstanceOf(InvalidCursorException.class);
+        }
+
+        private static void await(CountDownLatch latch) {
+                try {
+                        latch.await();
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                }
+        }
+
+        // ─── versions (ETags) ───────────────────────────────────────────
+
+        @Test
+        void findVersion_tracksTransitionsWithOrWithoutCache() {
+                Workflow wf = save("wf", WorkflowStatus.DRAFT, BASE);
+                Long initial = workflowService.findVersion(wf.getId());
+
+                WorkflowResponse submitted = workflowService.transitionWorkflow(wf.getId(),
+                                new WorkflowTransitionRequest(WorkflowStatus.SUBMITTED, "REQUESTER"));
+
+                assertThat(submitted.version()).isEqualTo(initial + 1);
+                assertThat(workflowService.findVersion(wf.getId())).isEqualTo(initial + 1);
+                assertThat(workflowService.findById(wf.getId()).version()).isEqualTo(initial + 1);
+                // now answered from the response cache
+                assertThat(workflowService.findVersion(wf.getId())).isEqualTo(initial + 1);
+        }
+
+        @Test
+        void collectionVersion_changesOnCreateAndTransitionOnly() {
+                String start = workflowService.getCollectionVersion();
+                WorkflowResponse created = workflowService.createWorkflow(new WorkflowRequest("wf", null));
+                String afterCreate = workflowService.getCollectionVersion();
+
+                workflowService.getAllWorkflows(WorkflowFilter.none(), null, null);
+                workflowService.findById(created.id());
+                assertThat(workflowService.getCollectionVersion()).isEqualTo(afterCreate);
+
+                workflowService.transitionWorkflow(created.id(),
+                                new WorkflowTransitionRequest(WorkflowStatus.SUBMITTED, "REQUESTER"));
+
+                assertThat(afterCreate).isNotEqualTo(start);
+                assertThat(workflowService.getCollectionVersion()).isNotEqualTo(afterCreate);
+        }
+
+        // ─── workflow types ─────────────────────────────────────────────
+
+        @Test
+        void transitionWorkflow_followsTheWorkflowsOwnType() {
+                WorkflowResponse fast = workflowService.createWorkflow(new WorkflowRequest("fast", null, "fast-track"));
+                WorkflowResponse standard = workflowService.createWorkflow(new WorkflowRequest("std", null));
+                assertThat(fast.type()).isEqualTo("fast-track");
+                assertThat(standard.type()).isEqualTo("standard");
+
+                workflowService.transitionWorkflow(fast.id(),
+                                new WorkflowTransitionRequest(WorkflowStatus.SUBMITTED, "REQUESTER"));
+                workflowService.transitionWorkflow(standard.id(),
+                                new WorkflowTransitionRequest(WorkflowStatus.SUBMITTED, "REQUESTER"));
+
+                // fast-track skips review; standard does not
+                assertThat(workflowService.transitionWorkflow(fast.id(),
+                                new WorkflowTransitionRequest(WorkflowStatus.APPROVED, "APPROVER")).status())
+                                .isEqualTo("APPROVED");
+                assertThatThrownBy(() -> workflowService.transitionWorkflow(standard.id(),
+                                new WorkflowTransitionRequest(WorkflowStatus.APPROVED, "APPROVER")))
+                                .isInstanceOf(InvalidTransitionException.class)
+                                .hasMessageContaining("Allowed transitions: [UNDER_REVIEW]");
+        }
+
+        @Test
+        void createWorkflow_rejectsUnknownType() {
+                assertThatThrownBy(() -> workflowService.createWorkflow(new WorkflowRequest("wf", null, "nope")))
+                                .isInstanceOf(UnknownWorkflowTypeException.class);
+                assertThat(workflowRepository.count()).isZero();
+        }
+
+        // ─── transitionWorkflow (compare-and-set) ───────────────────────
+
+        @Test
+        void transitionWorkflow_updatesStatusAndBumpsVersion() {
+                Workflow wf = save("wf", WorkflowStatus.DRAFT, BASE);
+                Long versionBefore = wf.getVersion();
+
+                WorkflowResponse response = workflowService.transitionWorkflow(wf.getId(),
+                                new WorkflowTransitionRequest(WorkflowStatus.SUBMITTED, "REQUESTER"));
+
+                Workflow reloaded = workflowRepository.findById(wf.getId()).orElseThrow();
+                assertThat(response.status()).isEqualTo("SUBMITTED");
+                assertThat(reloaded.getStatus()).isEqualTo(WorkflowStatus.SUBMITTED);
+                assertThat(reloaded.getVersion()).isEqualTo(versionBefore + 1);
+        }
+
+        @Test
+        void transitionWorkflow_explainsAnUnmatchedUpdateFromTheCurrentRow() {
+                Workflow wf = save("wf", WorkflowStatus.SUBMITTED, BASE);
+
+                assertThatThrownBy(() -> workflowService.transitionWorkflow(999_999L,
+                                new WorkflowTransitionRequest(WorkflowStatus.SUBMITTED, "REQUESTER")))
+                                .isInstanceOf(WorkflowNotFoundException.class);
+                assertThatThrownBy(() -> workflowService.transitionWorkflow(wf.getId(),
+                                new WorkflowTransitionRequest(WorkflowStatus.APPROVED, "APPROVER")))
+                                .isInstanceOf(InvalidTransitionException.class)
+                                .hasMessageContaining("Cannot transition from SUBMITTED to APPROVED");
+                assertThatThrownBy(() -> workflowService.transitionWorkflow(wf.getId(),
+                                new WorkflowTransitionRequest(WorkflowStatus.UNDER_REVIEW, "REQUESTER")))
+                                .isInstanceOf(InvalidTransitionException.class)
+                                .hasMessageContaining("Required role: REVIEWER");
+                assertThat(workflowRepository.findById(wf.getId()).orElseThrow().getVersion())
+                                .isEqualTo(wf.getVersion());
+        }
+
+        @Test
+        void compareAndSetStatus_failsWhenStatusAlreadyChanged() {
+                Workflow wf = save("wf", WorkflowStatus.UNDER_REVIEW, BASE);
+
+                assertThat(workflowRepository.compareAndSetStatus(wf.getId(),
+                                WorkflowStatus.UNDER_REVIEW, STANDARD, WorkflowStatus.APPROVED, -1)).isEqualTo(1);
+                assertThat(workflowRepository.compareAndSetStatus(wf.getId(),
+                                WorkflowStatus.UNDER_REVIEW, STANDARD, WorkflowStatus.REJECTED, -2)).isZero();
+                assertThat(workflowRepository.findById(wf.getId()).orElseThrow().getStatus())
+                                .isEqualTo(WorkflowStatus.APPROVED);
+        }
+
+        @Test
+        void transitionWorkflow_onlyOneConcurrentDecisionWins() throws Exception {
+                Workflow wf = save("wf", WorkflowStatus.UNDER_REVIEW, BASE);
+                int approvers = 8;
+                CountDownLatch start = new CountDownLatch(1);
+                ExecutorService pool = Executors.newFixedThreadPool(approvers);
+                List<Future<Boolean>> results = new ArrayList<>();
+
+                try {
+                        for (int i = 0; i < approvers; i++) {
+                                WorkflowStatus target = i % 2 == 0 ? WorkflowStatus.APPROVED : WorkflowStatus.REJECTED;
+                                Callable<Boolean> attempt = () -> {
+                                        start.await();
+                                        try {
+                                                workflowService.transitionWorkflow(wf.getId(),
+                                                                new WorkflowTransitionRequest(target, "APPROVER"));
+                                                return true;
+                                        } catch (ConcurrentTransitionException | InvalidTransitionException e) {
+                                                return false;
+                                        }
+                                };
+                                results.add(pool.submit(attempt));
+                        }
+                        start.countDown();
+
+                        int winners = 0;
+                        for (Future<Boolean> result : results) {
+                                if (result.get()) {
+                                        winners++;
+                                }
+                        }
+                        assertThat(winners).isEqualTo(1);
+                } finally {
+                        pool.shutdownNow();
+                }
+        }
+
+        // ─── transitionWorkflows (bulk) ─────────────────────────────────
+
+        @Test
+        void transitionWorkflows_reportsOutcomePerItem() {
+                Workflow submitted = save("submitted", WorkflowStatus.SUBMITTED, BASE);
+                Workflow draft = save("draft", WorkflowStatus.DRAFT, BASE);
+                Workflow review = save("review", WorkflowStatus.UNDER_REVIEW, BASE);
+
+                BulkTransitionResponse response = workflowService.transitionWorkflows(new BulkTransitionRequest(List.of(
+                                new BulkTransitionRequest.Item(submitted.getId(), WorkflowStatus.UNDER_REVIEW),
+                                new BulkTransitionRequest.Item(draft.getId(), WorkflowStatus.UNDER_REVIEW),
+                                new BulkTransitionRequest.Item(review.getId(), WorkflowStatus.APPROVED),
+                                new BulkTransitionRequest.Item(999_999L, WorkflowStatus.UNDER_REVIEW),
+                                new BulkTransitionRequest.Item(submitted.getId(), WorkflowStatus.UNDER_REVIEW)),
+                                "REVIEWER"));
+
+                assertThat(response.results()).extracting(BulkTransitionResponse.Result::outcome).containsExactly(
+                                TransitionOutcome.SUCCESS,
+                                TransitionOutcome.INVALID_TRANSITION,
+                                TransitionOutcome.WRONG_ROLE,
+                                TransitionOutcome.NOT_FOUND,
+                                TransitionOutcome.CONFLICT);
+                assertThat(response.succeeded()).isEqualTo(1);
+                assertThat(response.failed()).isEqualTo(4);
+                assertThat(workflowRepository.findById(submitted.getId()).orElseThrow().getStatus())
+                                .isEqualTo(WorkflowStatus.UNDER_REVIEW);
+                assertThat(workflowRepository.findById(review.getId()).orElseThrow().getStatus())
+                                .isEqualTo(WorkflowStatus.UNDER_REVIEW);
+        }
+
+        @Test
+        void transitionWorkflows_appliesWholeBatch() {
+                List<BulkTransitionRequest.Item> items = new ArrayList<>();
+                for (int i = 0; i < 50; i++) {
+                        items.add(new BulkTransitionRequest.Item(
+                                        save("wf-" + i, WorkflowStatus.SUBMITTED, BASE).getId(),
+                                        WorkflowStatus.UNDER_REVIEW));
+                }
+
+                BulkTransitionResponse response = workflowService.transitionWorkflows(
+                                new BulkTransitionRequest(items, "REVIEWER"));
+
+                assertThat(response.succeeded()).isEqualTo(50);
+                assertThat(workflowRepository.countByStatus(WorkflowStatus.UNDER_REVIEW)).isEqualTo(50);
+        }
+
+        // ─── transition history ─────────────────────────────────────────
+
+        @Test
+        void transitions_areRecordedInHistory() {
+                Workflow wf = save("wf", WorkflowStatus.DRAFT, BASE);
+                WorkflowTransitionRequest submit = new WorkflowTransitionRequest(WorkflowStatus.SUBMITTED, "REQUESTER");
+                submit.setActor("alice");
+                workflowService.transitionWorkflow(wf.getId(), submit);
+
+                BulkTransitionRequest review = new BulkTransitionRequest(List.of(
+                                new BulkTransitionRequest.Item(wf.getId(), WorkflowStatus.UNDER_REVIEW)), "reviewer");
+                review.setActor("bob");
+                workflowService.transitionWorkflows(review);
+
+                historyWriter.flush();
+                List<WorkflowTransitionResponse> history = workflowService.getTransitionHistory(wf.getId());
+
+                assertThat(history).extracting(WorkflowTransitionResponse::toStatus)
+                                .containsExactly("SUBMITTED", "UNDER_REVIEW");
+                assertThat(history).extracting(WorkflowTransitionResponse::actor).containsExactly("alice", "bob");
+                assertThat(history.get(1).fromStatus()).isEqualTo("SUBMITTED");
+                // The role the actor acted in, as authenticated
+                assertThat(history).extracting(WorkflowTransitionResponse::role).containsExactly("REQUESTER", "REVIEWER");
+        }
+
+        @Test
+        void rejectedTransitions_areNotRecorded() {
+                Workflow wf = save("wf", WorkflowStatus.DRAFT, BASE);
+
+                assertThatThrownBy(() -> workflowService.transitionWorkflow(wf.getId(),
+                                new WorkflowTransitionRequest(WorkflowStatus.APPROVED, "APPROVER")))
+                                .isInstanceOf(InvalidTransitionException.class);
+
+                historyWriter.flush();
+                assertThat(workflowService.getTransitionHistory(wf.getId())).isEmpty();
+        }
+}